@@ -0,0 +1,118 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * The area of the display in which the game takes place, drawn actively: each refresh takes a snapshot of the game,
+ * draws it into the back buffer of a BufferStrategy, and shows it at once, instead of asking Swing to repaint later.
+ */
+@SuppressWarnings("serial")
+public class ActiveScreen extends Canvas
+{
+    /** The number of buffers to ask for when page flipping is available */
+    private static final int FLIP_BUFFERS = 3;
+
+    /** Legend that is displayed across the screen */
+    private String legend;
+
+    /** Game controller */
+    private Controller controller;
+
+    /** The snapshot that is drawn */
+    private FrameSnapshot frame;
+
+    /** The buffers, created once the canvas can be shown */
+    private BufferStrategy strategy;
+
+    /** The sprites, or null if outlines are drawn as shapes */
+    private SpriteCache sprites;
+
+    /** Draws the score, level, lives, and legend */
+    private Hud hud;
+
+    /**
+     * Creates an empty screen
+     */
+    public ActiveScreen (Controller controller)
+    {
+        this.controller = controller;
+        legend = "";
+        frame = new FrameSnapshot();
+        sprites = SpriteCache.ENABLED ? new SpriteCache() : null;
+        hud = new Hud();
+        setPreferredSize(new Dimension(SIZE, SIZE));
+        setMinimumSize(new Dimension(SIZE, SIZE));
+        setBackground(Color.black);
+        setIgnoreRepaint(true);
+        setFocusable(true);
+    }
+
+    /**
+     * Set the legend
+     */
+    public void setLegend (String legend)
+    {
+        this.legend = legend;
+    }
+
+    /**
+     * Draws the game as it is now and shows it. This must be called on the thread that runs the game. Nothing is drawn
+     * until the canvas is in a window that can be shown.
+     */
+    public void refresh ()
+    {
+        if (!isDisplayable())
+        {
+            return;
+        }
+        if (strategy == null)
+        {
+            createStrategy();
+        }
+
+        long start = System.nanoTime();
+        frame.capture(controller, legend);
+        do
+        {
+            do
+            {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try
+                {
+                    Screen.drawFrame(g, frame, hud, sprites);
+                }
+                finally
+                {
+                    g.dispose();
+                }
+            }
+            while (strategy.contentsRestored());
+            strategy.show();
+        }
+        while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+
+        TickProfiler profiler = controller.getProfiler();
+        profiler.record(TickProfiler.Metric.PAINT, System.nanoTime() - start);
+        profiler.framePresented(start);
+    }
+
+    /**
+     * Creates the buffers, with page flipping if the graphics system allows it and with double buffering otherwise
+     */
+    private void createStrategy ()
+    {
+        try
+        {
+            createBufferStrategy(FLIP_BUFFERS, new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        }
+        catch (AWTException e)
+        {
+            createBufferStrategy(2);
+        }
+        strategy = getBufferStrategy();
+    }
+}
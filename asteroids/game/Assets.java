@@ -0,0 +1,95 @@
+package asteroids.game;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+
+/**
+ * Loads the sounds and images of the game from the classpath, so that they are found inside the JAR as well as in a
+ * build directory. Everything is loaded at once on a pool of background threads, and each asset is handed out as a
+ * CompletableFuture, so that the window and the splash screen can be shown without waiting and each part of the game
+ * can take up its assets as they arrive.
+ */
+class Assets
+{
+    /** The image of the ship */
+    public static final String SHIP_IMAGE = "/images/SHIP.jpg";
+
+    /** The decoded samples of each Sound, by ordinal, each null if the sound couldn't be loaded */
+    private final List<CompletableFuture<short[]>> sounds;
+
+    /** The image of the ship, or null if it couldn't be loaded */
+    private final CompletableFuture<BufferedImage> shipImage;
+
+    /** Completes when all the sounds are loaded */
+    private final CompletableFuture<Void> soundsLoaded;
+
+    /**
+     * Starts loading every asset on a new pool of daemon threads, which goes away once everything is loaded
+     */
+    public Assets ()
+    {
+        int threads = Math.min(Sound.values().length + 1, Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task ->
+        {
+            Thread thread = new Thread(task, "Asteroids loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        sounds = new ArrayList<CompletableFuture<short[]>>(Sound.values().length);
+        for (Sound s : Sound.values())
+        {
+            sounds.add(CompletableFuture.supplyAsync(() -> SoundMixer.decode(s.getResource()), pool));
+        }
+        shipImage = CompletableFuture.supplyAsync(() -> readImage(SHIP_IMAGE), pool);
+        soundsLoaded = CompletableFuture.allOf(sounds.toArray(new CompletableFuture<?>[0]));
+        pool.shutdown();
+    }
+
+    /**
+     * Reads and decodes an image resource, returning null if it can't be read
+     */
+    private static BufferedImage readImage (String resource)
+    {
+        try (InputStream in = Assets.class.getResourceAsStream(resource))
+        {
+            return (in == null) ? null : ImageIO.read(in);
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a future that completes when all the sounds are loaded
+     */
+    public CompletableFuture<Void> getSoundsLoaded ()
+    {
+        return soundsLoaded;
+    }
+
+    /**
+     * Returns the samples of a sound in SoundMixer.FORMAT, or null if it couldn't be loaded. This waits for the sound
+     * to be loaded.
+     */
+    public short[] getSound (Sound s)
+    {
+        return sounds.get(s.ordinal()).join();
+    }
+
+    /**
+     * Returns a future of the image of the ship, which is null if it couldn't be loaded
+     */
+    public CompletableFuture<BufferedImage> getShipImage ()
+    {
+        return shipImage;
+    }
+}
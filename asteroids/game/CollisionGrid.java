@@ -0,0 +1,213 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.util.Arrays;
+
+/**
+ * A uniform grid laid over the SIZE x SIZE game area that serves as the broad phase of collision detection. Each
+ * Participant is entered into every cell that its bounding box touches, and only Participants that share at least one
+ * cell are reported as candidates for the exact overlap test.
+ *
+ * The grid is rebuilt from scratch every tick. Its arrays are reused from tick to tick, so once they have grown to fit
+ * the population, building and querying the grid does not allocate.
+ */
+class CollisionGrid
+{
+    /** The smallest cell size that will be used, in pixels */
+    private static final double MIN_CELL_SIZE = 16;
+
+    /** The number of cells along each side of the grid */
+    private int columns;
+
+    /** The width and height of each cell */
+    private double cellSize;
+
+    /** Where each cell's entries begin in cellItems. Entries for cell c are cellItems[cellStart[c]..cellStart[c+1]) */
+    private int[] cellStart;
+
+    /** Scratch space used while filling cellItems */
+    private int[] cellFill;
+
+    /** Indexes of the participants in each cell, in increasing order within a cell */
+    private int[] cellItems;
+
+    /** The range of cells covered by each participant (lowest column, highest column, lowest row, highest row) */
+    private int[] ranges;
+
+    /** For each participant, the last index for which it was collected as a candidate */
+    private int[] stamps;
+
+    /** The candidates found by the most recent call to collect */
+    private int[] candidates;
+
+    /**
+     * Creates an empty grid.
+     */
+    public CollisionGrid ()
+    {
+        cellStart = new int[2];
+        cellFill = new int[1];
+        cellItems = new int[16];
+        ranges = new int[64];
+        stamps = new int[16];
+        candidates = new int[16];
+    }
+
+    /**
+     * Enters the participants in the first count of the given slots of the store into the grid, which is sized so that
+     * the largest of them spans at most two cells in each direction. Participants that have no bounds yet are left
+     * out. Participants are identified by their position in slots, not by their slot in the store.
+     */
+    public void build (ParticipantStore store, int[] slots, int count)
+    {
+        double[] minX = store.minX;
+        double[] minY = store.minY;
+        double[] maxX = store.maxX;
+        double[] maxY = store.maxY;
+        int[] flags = store.flags;
+
+        // Size the cells to fit the largest participant
+        double extent = MIN_CELL_SIZE;
+        for (int i = 0; i < count; i++)
+        {
+            int s = slots[i];
+            if ((flags[s] & ParticipantStore.PLACED) != 0)
+            {
+                extent = Math.max(extent, Math.max(maxX[s] - minX[s], maxY[s] - minY[s]));
+            }
+        }
+        columns = Math.max(1, (int) (SIZE / extent));
+        cellSize = (double) SIZE / columns;
+
+        int cells = columns * columns;
+        if (cellStart.length < cells + 1)
+        {
+            cellStart = new int[cells + 1];
+            cellFill = new int[cells];
+        }
+        if (ranges.length < 4 * count)
+        {
+            ranges = new int[8 * count];
+            stamps = new int[2 * count];
+        }
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        Arrays.fill(stamps, 0, count, -1);
+
+        // Find the cells covered by each participant and count the entries in each cell
+        int entries = 0;
+        for (int i = 0; i < count; i++)
+        {
+            int s = slots[i];
+            int r = 4 * i;
+            if ((flags[s] & ParticipantStore.PLACED) == 0)
+            {
+                ranges[r] = 0;
+                ranges[r + 1] = -1;
+                ranges[r + 2] = 0;
+                ranges[r + 3] = -1;
+                continue;
+            }
+            ranges[r] = cellOf(minX[s]);
+            ranges[r + 1] = cellOf(maxX[s]);
+            ranges[r + 2] = cellOf(minY[s]);
+            ranges[r + 3] = cellOf(maxY[s]);
+            for (int row = ranges[r + 2]; row <= ranges[r + 3]; row++)
+            {
+                for (int col = ranges[r]; col <= ranges[r + 1]; col++)
+                {
+                    cellStart[row * columns + col + 1]++;
+                    entries++;
+                }
+            }
+        }
+
+        // Turn the counts into starting positions
+        for (int c = 0; c < cells; c++)
+        {
+            cellStart[c + 1] += cellStart[c];
+            cellFill[c] = cellStart[c];
+        }
+
+        // Fill in the cells. Because participants are visited in order, each cell ends up sorted.
+        if (cellItems.length < entries)
+        {
+            cellItems = new int[2 * entries];
+        }
+        for (int i = 0; i < count; i++)
+        {
+            int r = 4 * i;
+            for (int row = ranges[r + 2]; row <= ranges[r + 3]; row++)
+            {
+                for (int col = ranges[r]; col <= ranges[r + 1]; col++)
+                {
+                    cellItems[cellFill[row * columns + col]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds every participant with an index greater than i that shares a cell with participant i. Each is reported
+     * once, in decreasing order of index. Returns the number found; use getCandidate to retrieve them.
+     */
+    public int collect (int i)
+    {
+        int found = 0;
+        int r = 4 * i;
+        for (int row = ranges[r + 2]; row <= ranges[r + 3]; row++)
+        {
+            for (int col = ranges[r]; col <= ranges[r + 1]; col++)
+            {
+                int cell = row * columns + col;
+                for (int k = cellStart[cell + 1] - 1; k >= cellStart[cell]; k--)
+                {
+                    int j = cellItems[k];
+                    if (j <= i)
+                    {
+                        break;
+                    }
+                    if (stamps[j] != i)
+                    {
+                        stamps[j] = i;
+                        if (found == candidates.length)
+                        {
+                            candidates = Arrays.copyOf(candidates, 2 * found);
+                        }
+                        candidates[found++] = j;
+                    }
+                }
+            }
+        }
+
+        // Put the candidates in decreasing order (the lists are short, so insertion sort is fine)
+        for (int a = 1; a < found; a++)
+        {
+            int j = candidates[a];
+            int b = a - 1;
+            while (b >= 0 && candidates[b] < j)
+            {
+                candidates[b + 1] = candidates[b];
+                b--;
+            }
+            candidates[b + 1] = j;
+        }
+        return found;
+    }
+
+    /**
+     * Returns the kth candidate found by the most recent call to collect.
+     */
+    public int getCandidate (int k)
+    {
+        return candidates[k];
+    }
+
+    /**
+     * Returns the column (or row) of the cell containing the coordinate, clamped to the grid.
+     */
+    private int cellOf (double coordinate)
+    {
+        int cell = (int) Math.floor(coordinate / cellSize);
+        return Math.max(0, Math.min(columns - 1, cell));
+    }
+}
@@ -0,0 +1,187 @@
+package asteroids.game;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records which kinds of Participants can react to colliding with which other kinds, so that pairs that can never
+ * react are dropped before any geometry is examined. Each Participant class is given a type id, and for each type the
+ * matrix keeps a bit mask of the types it interacts with in either direction. For each ordered pair of types it keeps
+ * the Handler that deals with a collision between them.
+ *
+ * The answer for a pair of types comes from Participant.reactsTo, which each class answers in terms of the destroyer
+ * interfaces. It is asked once per pair of types, the first time both types are present in the same collision check,
+ * using a participant of each type from that check. After that, dispatching a collision is a lookup in the table of
+ * handlers.
+ */
+class CollisionMatrix
+{
+    /** The most Participant classes that can be told apart */
+    public static final int MAX_TYPES = 64;
+
+    /**
+     * Deals with a collision between two participants whose types are a particular ordered pair
+     */
+    interface Handler
+    {
+        void collided (Participant p1, Participant p2);
+    }
+
+    /** The handler for pairs in which neither participant reacts to the other */
+    private static final Handler NEITHER = (p1, p2) -> {};
+
+    /** The handler for pairs in which only the first participant reacts to the second */
+    private static final Handler FIRST = (p1, p2) -> p1.collidedWith(p2);
+
+    /** The handler for pairs in which only the second participant reacts to the first */
+    private static final Handler SECOND = (p1, p2) -> p2.collidedWith(p1);
+
+    /** The handler for pairs in which each participant reacts to the other, the first one first */
+    private static final Handler BOTH = (p1, p2) -> {
+        p1.collidedWith(p2);
+        p2.collidedWith(p1);
+    };
+
+    /** The type id assigned to each Participant class, which is where ids are given out */
+    private static final Map<Class<?>, Integer> typeIds = new HashMap<Class<?>, Integer>();
+
+    /** The type id of each Participant class, cached with the class so that looking it up takes no lock */
+    private static final ClassValue<Integer> cachedTypeIds = new ClassValue<Integer>()
+    {
+        @Override
+        protected Integer computeValue (Class<?> type)
+        {
+            return assignTypeId(type);
+        }
+    };
+
+    /** For each type, the types for which reactsTo has been asked (in both directions) */
+    private long[] known;
+
+    /** For each type, the types that either react to it or that it reacts to */
+    private long[] interacts;
+
+    /** The handler for each ordered pair of types a and b, at a * MAX_TYPES + b, or null if it isn't known yet */
+    private Handler[] handlers;
+
+    /** For the collision check being prepared, the index of one participant of each type that is present */
+    private int[] representative;
+
+    /**
+     * Creates a matrix in which nothing is known yet.
+     */
+    public CollisionMatrix ()
+    {
+        known = new long[MAX_TYPES];
+        interacts = new long[MAX_TYPES];
+        handlers = new Handler[MAX_TYPES * MAX_TYPES];
+        representative = new int[MAX_TYPES];
+    }
+
+    /**
+     * Returns the type id of a Participant class, assigning a new one if necessary. Once a class has an id, this neither
+     * locks nor allocates.
+     */
+    public static int typeOf (Class<? extends Participant> type)
+    {
+        return cachedTypeIds.get(type);
+    }
+
+    /**
+     * Returns the type id of a class, assigning a new one if it has none. The ClassValue may ask more than once for the
+     * same class, but only the first asking gives out an id.
+     */
+    private static synchronized Integer assignTypeId (Class<?> type)
+    {
+        Integer id = typeIds.get(type);
+        if (id == null)
+        {
+            if (typeIds.size() == MAX_TYPES)
+            {
+                throw new IllegalStateException("Too many kinds of participants: " + type.getName());
+            }
+            id = typeIds.size();
+            typeIds.put(type, id);
+        }
+        return id;
+    }
+
+    /**
+     * Makes sure that every pair of types among the first count participants is known, and returns a mask of the types
+     * that are present.
+     */
+    public long prepare (Participant[] participants, int count)
+    {
+        long present = 0;
+        for (int i = 0; i < count; i++)
+        {
+            int type = participants[i].getTypeId();
+            if ((present & (1L << type)) == 0)
+            {
+                present |= 1L << type;
+                representative[type] = i;
+            }
+        }
+
+        for (int a = 0; a < MAX_TYPES; a++)
+        {
+            if ((present & (1L << a)) != 0 && (known[a] & present) != present)
+            {
+                for (int b = a; b < MAX_TYPES; b++)
+                {
+                    if ((present & (1L << b)) != 0 && (known[a] & (1L << b)) == 0)
+                    {
+                        learn(participants[representative[a]], participants[representative[b]]);
+                    }
+                }
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Asks two participants whether they react to each other's types and records the handlers for the pair in both
+     * orders.
+     */
+    private void learn (Participant p1, Participant p2)
+    {
+        int a = p1.getTypeId();
+        int b = p2.getTypeId();
+        known[a] |= 1L << b;
+        known[b] |= 1L << a;
+        boolean first = p1.reactsTo(p2.getClass());
+        boolean second = p2.reactsTo(p1.getClass());
+        handlers[a * MAX_TYPES + b] = first ? (second ? BOTH : FIRST) : (second ? SECOND : NEITHER);
+        handlers[b * MAX_TYPES + a] = second ? (first ? BOTH : FIRST) : (first ? SECOND : NEITHER);
+        if (first || second)
+        {
+            interacts[a] |= 1L << b;
+            interacts[b] |= 1L << a;
+        }
+    }
+
+    /**
+     * Reports whether participants of the type can interact with any of the types in the mask.
+     */
+    public boolean interactsWithAny (int type, long types)
+    {
+        return (interacts[type] & types) != 0;
+    }
+
+    /**
+     * Reports whether participants of the two types can interact. Both types must have been prepared.
+     */
+    public boolean interacts (int a, int b)
+    {
+        return (interacts[a] & (1L << b)) != 0;
+    }
+
+    /**
+     * Returns the handler for a collision between a participant of type a and one of type b, which must be passed to it
+     * in that order. Both types must have been prepared.
+     */
+    public Handler handler (int a, int b)
+    {
+        return handlers[a * MAX_TYPES + b];
+    }
+}
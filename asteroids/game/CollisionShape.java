@@ -0,0 +1,583 @@
+package asteroids.game;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * The outline of a Participant broken down for the narrow phase of collision detection. A round outline (such as that
+ * of a Bullet or Debris) becomes a circle. Any other outline becomes a set of triangles: each closed loop of the path
+ * is triangulated by ear clipping, so that two outlines overlap exactly when some pair of their convex pieces do.
+ * Pairs of triangles are compared with the separating axis test, and circles are compared with triangles by
+ * locating the circle's center relative to the triangle's edges.
+ *
+ * A CollisionShape is built once per outline. Testing a pair of shapes works entirely on primitive arrays and
+ * allocates nothing. Outlines that can't be broken down this way (for example, loops that overlap under the even-odd
+ * rule) are reported as inexact, and the caller should fall back on java.awt.geom.Area for them.
+ *
+ * A loop may have spikes, edges that double straight back along the ones before them, like the fins of the ship. A
+ * spike encloses no area, so it is cut off before the loop is triangulated. Area leaves it out too, except that once
+ * a spike is rotated, rounding can leave Area holding pieces of it that still enclose no area, so Area is only said
+ * to find an overlap when the intersection it finds has some area (see hasArea).
+ */
+class CollisionShape
+{
+    /** Tolerance used when deciding whether points coincide or triangles are degenerate */
+    private static final double EPSILON = 1e-9;
+
+    /** Flatness used when turning curves into line segments */
+    private static final double FLATNESS = 0.1;
+
+    /** The outline from which this shape was built */
+    private Shape outline;
+
+    /** True if this shape is a circle */
+    private boolean circle;
+
+    /** True if this shape describes its outline exactly */
+    private boolean exact;
+
+    /** For a circle, its radius */
+    private double radius;
+
+    /** For a circle, its center; otherwise the vertices of the triangles, six coordinates per triangle */
+    private double[] points;
+
+    /** The number of triangles */
+    private int triangles;
+
+    /** Scratch space used while building: the vertices of the loop being built */
+    private double[] loopX, loopY;
+
+    /** Scratch space used while building: the bounding box and orientation of each loop found so far */
+    private double[] boxes;
+    private boolean[] clockwise;
+
+    /** Scratch space used while building: the number of loops found so far */
+    private int loops;
+
+    /**
+     * Breaks down the outline.
+     */
+    public CollisionShape (Shape outline)
+    {
+        this.outline = outline;
+        exact = true;
+        if (outline instanceof Ellipse2D && ((Ellipse2D) outline).getWidth() == ((Ellipse2D) outline).getHeight())
+        {
+            Ellipse2D e = (Ellipse2D) outline;
+            circle = true;
+            radius = e.getWidth() / 2;
+            points = new double[] { e.getCenterX(), e.getCenterY() };
+        }
+        else
+        {
+            points = new double[0];
+            triangulate(outline);
+        }
+    }
+
+    /**
+     * Returns the outline from which this shape was built
+     */
+    public Shape getOutline ()
+    {
+        return outline;
+    }
+
+    /**
+     * Reports whether this shape describes its outline exactly. If it doesn't, overlaps must not be used.
+     */
+    public boolean isExact ()
+    {
+        return exact;
+    }
+
+    /**
+     * Returns the number of coordinates that transform will write
+     */
+    public int getPointCount ()
+    {
+        return circle ? 2 : 6 * triangles;
+    }
+
+    /**
+     * Rotates this shape by the angle whose cosine and sine are given, translates it by (x,y), and stores the resulting
+     * coordinates in world, which must have room for getPointCount() values.
+     */
+    public void transform (double x, double y, double cos, double sin, double[] world)
+    {
+        int n = getPointCount();
+        for (int i = 0; i < n; i += 2)
+        {
+            double px = points[i];
+            double py = points[i + 1];
+            world[i] = x + cos * px - sin * py;
+            world[i + 1] = y + sin * px + cos * py;
+        }
+    }
+
+    /**
+     * Reports whether shape a, whose transformed coordinates are in worldA, overlaps shape b, whose transformed
+     * coordinates are in worldB. Shapes that merely touch do not overlap.
+     */
+    public static boolean overlaps (CollisionShape a, double[] worldA, CollisionShape b, double[] worldB)
+    {
+        if (a.circle && b.circle)
+        {
+            double dx = worldA[0] - worldB[0];
+            double dy = worldA[1] - worldB[1];
+            double reach = a.radius + b.radius;
+            return dx * dx + dy * dy < reach * reach;
+        }
+        if (a.circle)
+        {
+            return circleOverlapsTriangles(worldA[0], worldA[1], a.radius, worldB, b.triangles);
+        }
+        if (b.circle)
+        {
+            return circleOverlapsTriangles(worldB[0], worldB[1], b.radius, worldA, a.triangles);
+        }
+        for (int i = 0; i < a.triangles; i++)
+        {
+            for (int j = 0; j < b.triangles; j++)
+            {
+                if (trianglesOverlap(worldA, 6 * i, worldB, 6 * j))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports whether the circle overlaps any of the count triangles in t.
+     */
+    private static boolean circleOverlapsTriangles (double cx, double cy, double r, double[] t, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (circleOverlapsTriangle(cx, cy, r, t, 6 * i))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports whether the circle overlaps the triangle whose coordinates begin at t[at]. It does if its center lies
+     * inside the triangle or lies closer than r to one of the triangle's edges.
+     */
+    private static boolean circleOverlapsTriangle (double cx, double cy, double r, double[] t, int at)
+    {
+        double d1 = cross(t[at], t[at + 1], t[at + 2], t[at + 3], cx, cy);
+        double d2 = cross(t[at + 2], t[at + 3], t[at + 4], t[at + 5], cx, cy);
+        double d3 = cross(t[at + 4], t[at + 5], t[at], t[at + 1], cx, cy);
+        if ((d1 > 0 && d2 > 0 && d3 > 0) || (d1 < 0 && d2 < 0 && d3 < 0))
+        {
+            return true;
+        }
+        double rr = r * r;
+        return segmentDistanceSquared(cx, cy, t[at], t[at + 1], t[at + 2], t[at + 3]) < rr
+                || segmentDistanceSquared(cx, cy, t[at + 2], t[at + 3], t[at + 4], t[at + 5]) < rr
+                || segmentDistanceSquared(cx, cy, t[at + 4], t[at + 5], t[at], t[at + 1]) < rr;
+    }
+
+    /**
+     * Returns the square of the distance from (px,py) to the segment from (ax,ay) to (bx,by).
+     */
+    private static double segmentDistanceSquared (double px, double py, double ax, double ay, double bx, double by)
+    {
+        double ex = bx - ax;
+        double ey = by - ay;
+        double length = ex * ex + ey * ey;
+        double s = (length == 0) ? 0 : ((px - ax) * ex + (py - ay) * ey) / length;
+        s = Math.max(0, Math.min(1, s));
+        double dx = ax + s * ex - px;
+        double dy = ay + s * ey - py;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Reports whether the triangle beginning at a[i] overlaps the triangle beginning at b[j], using the separating axis
+     * test: two convex shapes are disjoint exactly when their projections onto the normal of some edge don't overlap.
+     */
+    private static boolean trianglesOverlap (double[] a, int i, double[] b, int j)
+    {
+        return !separatedByEdges(a, i, b, j) && !separatedByEdges(b, j, a, i);
+    }
+
+    /**
+     * Reports whether the normal of one of the edges of the triangle beginning at a[i] separates it from the triangle
+     * beginning at b[j].
+     */
+    private static boolean separatedByEdges (double[] a, int i, double[] b, int j)
+    {
+        for (int e = 0; e < 3; e++)
+        {
+            int from = i + 2 * e;
+            int to = i + 2 * ((e + 1) % 3);
+            double nx = a[from + 1] - a[to + 1];
+            double ny = a[to] - a[from];
+            if (nx == 0 && ny == 0)
+            {
+                continue;
+            }
+
+            double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+            double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < 6; k += 2)
+            {
+                double pa = nx * a[i + k] + ny * a[i + k + 1];
+                minA = Math.min(minA, pa);
+                maxA = Math.max(maxA, pa);
+                double pb = nx * b[j + k] + ny * b[j + k + 1];
+                minB = Math.min(minB, pb);
+                maxB = Math.max(maxB, pb);
+            }
+            if (maxA <= minB || maxB <= minA)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports whether the area encloses more than a negligible amount of the plane. An intersection computed by Area
+     * can be non-empty and yet have no area, when it holds nothing but slivers left by rounding.
+     */
+    static boolean hasArea (Area area)
+    {
+        if (area.isEmpty())
+        {
+            return false;
+        }
+        double sum = 0;
+        double startX = 0, startY = 0, lastX = 0, lastY = 0;
+        double[] coords = new double[6];
+        for (PathIterator iter = area.getPathIterator(null, FLATNESS); !iter.isDone(); iter.next())
+        {
+            int type = iter.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO)
+            {
+                startX = lastX = coords[0];
+                startY = lastY = coords[1];
+                continue;
+            }
+            if (type == PathIterator.SEG_CLOSE)
+            {
+                coords[0] = startX;
+                coords[1] = startY;
+            }
+            sum += lastX * coords[1] - coords[0] * lastY;
+            lastX = coords[0];
+            lastY = coords[1];
+        }
+        return Math.abs(sum / 2) > EPSILON;
+    }
+
+    /**
+     * Returns the cross product of (b - a) and (c - a), which is positive if a, b, c turn one way, negative if they
+     * turn the other, and zero if they are collinear.
+     */
+    private static double cross (double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+
+    /**
+     * Splits the outline into closed loops and triangulates each. A subpath that returns to one of its earlier vertices
+     * is split there, so a figure-eight becomes two loops. Open subpaths are closed, just as java.awt.geom.Area would
+     * close them, and loops that enclose no area are dropped.
+     */
+    private void triangulate (Shape outline)
+    {
+        loopX = new double[16];
+        loopY = new double[16];
+        boxes = new double[16];
+        clockwise = new boolean[4];
+        loops = 0;
+
+        PathIterator iter = outline.getPathIterator(null, FLATNESS);
+        boolean evenOdd = iter.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        double[] coords = new double[6];
+        double startX = 0;
+        double startY = 0;
+        int n = 0;
+        for (; !iter.isDone() && exact; iter.next())
+        {
+            int type = iter.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO)
+            {
+                // A new subpath implicitly closes the current one
+                addLoop(0, n);
+                n = appendVertex(0, coords[0], coords[1]);
+                startX = coords[0];
+                startY = coords[1];
+            }
+            else if (type == PathIterator.SEG_CLOSE)
+            {
+                // After a close, the path carries on from the start of the subpath
+                addLoop(0, n);
+                n = appendVertex(0, startX, startY);
+            }
+            else
+            {
+                n = appendVertex(n, coords[0], coords[1]);
+            }
+        }
+        addLoop(0, n);
+
+        // Overlapping loops can cancel each other out under the winding rule, leaving a hole that the union of the
+        // triangles would fill in. Leave such outlines to java.awt.geom.Area.
+        for (int i = 0; i < loops && exact; i++)
+        {
+            for (int j = i + 1; j < loops; j++)
+            {
+                if ((evenOdd || clockwise[i] != clockwise[j]) && boxesOverlap(4 * i, 4 * j))
+                {
+                    exact = false;
+                }
+            }
+        }
+
+        // The scratch space is no longer needed
+        loopX = null;
+        loopY = null;
+        boxes = null;
+        clockwise = null;
+    }
+
+    /**
+     * Adds a vertex to the loop being built, which has n vertices, and returns the new number of vertices. Repeated
+     * points are skipped, and when the path returns to one of its earlier vertices the loop that this closes is split
+     * off.
+     */
+    private int appendVertex (int n, double x, double y)
+    {
+        if (n > 0 && same(x, y, loopX[n - 1], loopY[n - 1]))
+        {
+            return n;
+        }
+        for (int k = n - 2; k >= 0; k--)
+        {
+            if (same(x, y, loopX[k], loopY[k]))
+            {
+                addLoop(k, n);
+                return k + 1;
+            }
+        }
+        if (n == loopX.length)
+        {
+            loopX = Arrays.copyOf(loopX, 2 * n);
+            loopY = Arrays.copyOf(loopY, 2 * n);
+        }
+        loopX[n] = x;
+        loopY[n] = y;
+        return n + 1;
+    }
+
+    /**
+     * Triangulates the loop made up of the vertices from index from up to (but not including) index to. Loops that
+     * enclose no area are ignored. If the loop can't be triangulated, the shape is marked as inexact.
+     */
+    private void addLoop (int from, int to)
+    {
+        double[] xs = Arrays.copyOfRange(loopX, from, to);
+        double[] ys = Arrays.copyOfRange(loopY, from, to);
+        int n = removeSpikes(xs, ys, to - from);
+        double area = signedArea(xs, ys, n);
+        if (n < 3 || Math.abs(area) <= EPSILON)
+        {
+            return;
+        }
+
+        if (loops == clockwise.length)
+        {
+            boxes = Arrays.copyOf(boxes, 8 * loops);
+            clockwise = Arrays.copyOf(clockwise, 2 * loops);
+        }
+        boundingBox(xs, ys, n, 4 * loops);
+        clockwise[loops++] = area < 0;
+        if (!addTriangles(xs, ys, n, area < 0))
+        {
+            exact = false;
+        }
+    }
+
+    /**
+     * Removes the tip of each spike from the polygon with n vertices, moving the remaining vertices down, and returns
+     * the number left. A tip is a vertex at which the polygon turns straight back along the edge it came in on.
+     * Removing one can leave another tip behind it, so this carries on until there are none.
+     */
+    private static int removeSpikes (double[] xs, double[] ys, int n)
+    {
+        for (int i = 0; i < n && n >= 3;)
+        {
+            int a = (i + n - 1) % n;
+            int c = (i + 1) % n;
+            double inX = xs[i] - xs[a];
+            double inY = ys[i] - ys[a];
+            double outX = xs[c] - xs[i];
+            double outY = ys[c] - ys[i];
+            if (Math.abs(cross(xs[a], ys[a], xs[i], ys[i], xs[c], ys[c])) <= EPSILON && inX * outX + inY * outY < 0)
+            {
+                System.arraycopy(xs, i + 1, xs, i, n - i - 1);
+                System.arraycopy(ys, i + 1, ys, i, n - i - 1);
+                n--;
+                i = 0;
+            }
+            else
+            {
+                i++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Triangulates the simple polygon with n vertices by ear clipping and appends the triangles to points. The vertices
+     * are taken in reverse order if reversed is true. Returns false if the polygon isn't simple.
+     */
+    private boolean addTriangles (double[] xs, double[] ys, int n, boolean reversed)
+    {
+        // Work on a list of vertex indexes in counterclockwise order
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            index[i] = reversed ? n - 1 - i : i;
+        }
+
+        int m = n;
+        while (m >= 3)
+        {
+            boolean clipped = false;
+            for (int i = 0; i < m && !clipped; i++)
+            {
+                int a = index[(i + m - 1) % m];
+                int b = index[i];
+                int c = index[(i + 1) % m];
+                double turn = cross(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+
+                // A vertex in the middle of a straight edge can simply be dropped
+                if (Math.abs(turn) <= EPSILON)
+                {
+                    clipped = true;
+                }
+
+                // A convex vertex is an ear if no other vertex lies inside its triangle
+                else if (turn > 0 && isEar(xs, ys, index, m, a, b, c))
+                {
+                    addTriangle(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+                    clipped = true;
+                }
+
+                if (clipped)
+                {
+                    System.arraycopy(index, i + 1, index, i, m - i - 1);
+                    m--;
+                }
+            }
+            if (!clipped)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports whether no vertex other than a, b, and c lies in or on the triangle abc.
+     */
+    private static boolean isEar (double[] xs, double[] ys, int[] index, int m, int a, int b, int c)
+    {
+        for (int k = 0; k < m; k++)
+        {
+            int v = index[k];
+            if (v == a || v == b || v == c || same(xs[v], ys[v], xs[a], ys[a]) || same(xs[v], ys[v], xs[b], ys[b])
+                    || same(xs[v], ys[v], xs[c], ys[c]))
+            {
+                continue;
+            }
+            if (cross(xs[a], ys[a], xs[b], ys[b], xs[v], ys[v]) >= 0
+                    && cross(xs[b], ys[b], xs[c], ys[c], xs[v], ys[v]) >= 0
+                    && cross(xs[c], ys[c], xs[a], ys[a], xs[v], ys[v]) >= 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a triangle to points.
+     */
+    private void addTriangle (double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        if (points.length < 6 * (triangles + 1))
+        {
+            points = Arrays.copyOf(points, 12 * (triangles + 1));
+        }
+        int at = 6 * triangles++;
+        points[at] = ax;
+        points[at + 1] = ay;
+        points[at + 2] = bx;
+        points[at + 3] = by;
+        points[at + 4] = cx;
+        points[at + 5] = cy;
+    }
+
+    /**
+     * Returns the signed area of the polygon with n vertices
+     */
+    private static double signedArea (double[] xs, double[] ys, int n)
+    {
+        double sum = 0;
+        for (int i = 0; i < n; i++)
+        {
+            int j = (i + 1) % n;
+            sum += xs[i] * ys[j] - xs[j] * ys[i];
+        }
+        return sum / 2;
+    }
+
+    /**
+     * Stores the bounding box of the polygon with n vertices in boxes, starting at index at.
+     */
+    private void boundingBox (double[] xs, double[] ys, int n, int at)
+    {
+        boxes[at] = Double.POSITIVE_INFINITY;
+        boxes[at + 1] = Double.POSITIVE_INFINITY;
+        boxes[at + 2] = Double.NEGATIVE_INFINITY;
+        boxes[at + 3] = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++)
+        {
+            boxes[at] = Math.min(boxes[at], xs[i]);
+            boxes[at + 1] = Math.min(boxes[at + 1], ys[i]);
+            boxes[at + 2] = Math.max(boxes[at + 2], xs[i]);
+            boxes[at + 3] = Math.max(boxes[at + 3], ys[i]);
+        }
+    }
+
+    /**
+     * Reports whether the boxes stored at i and j have interiors in common
+     */
+    private boolean boxesOverlap (int i, int j)
+    {
+        return boxes[i] < boxes[j + 2] - EPSILON && boxes[j] < boxes[i + 2] - EPSILON
+                && boxes[i + 1] < boxes[j + 3] - EPSILON && boxes[j + 1] < boxes[i + 3] - EPSILON;
+    }
+
+    /**
+     * Reports whether two points coincide
+     */
+    private static boolean same (double x1, double y1, double x2, double y2)
+    {
+        return Math.abs(x1 - x2) <= EPSILON && Math.abs(y1 - y2) <= EPSILON;
+    }
+}
@@ -0,0 +1,340 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Shape;
+import java.awt.geom.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks CollisionShape against java.awt.geom.Area on frames recorded from real games. The frames are in
+ * collision-frames.txt, which holds every outline that appeared, then each recorded frame as the outline and pose of
+ * each participant that was close enough to one it interacts with to need the exact test. Running this class's main
+ * method plays games with the same autopilot as HeadlessGame and writes the file again.
+ */
+public class CollisionShapeTest
+{
+    /** The fixture, beside this class */
+    private static final String FRAMES = "collision-frames.txt";
+
+    /** The seed of the first recorded game; each later game uses the next seed */
+    private static final long SEED = 11;
+
+    /** The number of ticks recorded */
+    private static final int TICKS = 30000;
+
+    /** An outline as it was recorded and the shape broken down from it */
+    private static class Outline
+    {
+        Shape shape;
+        CollisionShape collision;
+    }
+
+    /** A participant of a recorded frame */
+    private static class Pose
+    {
+        String type;
+        Outline outline;
+        double x, y, rotation;
+        Shape border;
+        double[] points;
+    }
+
+    @Test
+    public void matchesAreaOnRecordedFrames () throws IOException
+    {
+        int frames = 0, tests = 0, shipTests = 0, fallbacks = 0;
+        List<String> mismatches = new ArrayList<String>();
+
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                CollisionShapeTest.class.getResourceAsStream(FRAMES), StandardCharsets.US_ASCII)))
+        {
+            List<Outline> outlines = new ArrayList<Outline>();
+            List<Pose> frame = new ArrayList<Pose>();
+            String frameName = null;
+            for (String line = in.readLine(); ; line = in.readLine())
+            {
+                if (line == null || line.startsWith("frame"))
+                {
+                    // Compare every pair of the frame that was finished
+                    for (int i = 0; i < frame.size(); i++)
+                    {
+                        for (int j = i + 1; j < frame.size(); j++)
+                        {
+                            Pose a = frame.get(i);
+                            Pose b = frame.get(j);
+                            if (!a.border.getBounds2D().intersects(b.border.getBounds2D()))
+                            {
+                                continue;
+                            }
+                            if (a.type.equals("Ship") || b.type.equals("Ship"))
+                            {
+                                shipTests++;
+                            }
+                            if (!a.outline.collision.isExact() || !b.outline.collision.isExact())
+                            {
+                                fallbacks++;
+                                continue;
+                            }
+                            tests++;
+                            Area area = new Area(a.border);
+                            area.intersect(new Area(b.border));
+                            boolean expected = CollisionShape.hasArea(area);
+                            if (CollisionShape.overlaps(a.outline.collision, a.points, b.outline.collision,
+                                    b.points) != expected)
+                            {
+                                mismatches.add(frameName + ": " + a.type + " and " + b.type + " should "
+                                        + (expected ? "" : "not ") + "overlap");
+                            }
+                        }
+                    }
+                    if (line == null)
+                    {
+                        break;
+                    }
+                    frameName = line;
+                    frame.clear();
+                    frames++;
+                }
+                else if (line.startsWith("outline"))
+                {
+                    outlines.add(parseOutline(line));
+                }
+                else if (!line.startsWith("#") && !line.isEmpty())
+                {
+                    frame.add(parsePose(line, outlines));
+                }
+            }
+        }
+
+        assertTrue(frames > 1000, "too few recorded frames: " + frames);
+        assertTrue(tests > 2000, "too few exact tests: " + tests);
+        assertTrue(shipTests > 100, "too few tests against the ship: " + shipTests);
+        assertEquals(0, fallbacks, "pairs left to Area");
+        assertEquals(0, mismatches.size(), mismatches.size() + " of " + tests
+                + " tests disagree with Area, the first being " + mismatches.stream().findFirst().orElse(""));
+    }
+
+    /**
+     * Reads an outline: an ellipse by its frame, or a path by its winding rule and segments
+     */
+    private static Outline parseOutline (String line)
+    {
+        String[] words = line.split(" ");
+        Outline outline = new Outline();
+        if (words[2].equals("ellipse"))
+        {
+            outline.shape = new Ellipse2D.Double(Double.parseDouble(words[3]), Double.parseDouble(words[4]),
+                    Double.parseDouble(words[5]), Double.parseDouble(words[6]));
+        }
+        else
+        {
+            Path2D.Double path = new Path2D.Double(Integer.parseInt(words[3]));
+            for (int i = 4; i < words.length;)
+            {
+                switch (words[i++])
+                {
+                    case "M":
+                        path.moveTo(Double.parseDouble(words[i++]), Double.parseDouble(words[i++]));
+                        break;
+                    case "L":
+                        path.lineTo(Double.parseDouble(words[i++]), Double.parseDouble(words[i++]));
+                        break;
+                    case "Q":
+                        path.quadTo(Double.parseDouble(words[i++]), Double.parseDouble(words[i++]),
+                                Double.parseDouble(words[i++]), Double.parseDouble(words[i++]));
+                        break;
+                    case "C":
+                        path.curveTo(Double.parseDouble(words[i++]), Double.parseDouble(words[i++]),
+                                Double.parseDouble(words[i++]), Double.parseDouble(words[i++]),
+                                Double.parseDouble(words[i++]), Double.parseDouble(words[i++]));
+                        break;
+                    default:
+                        path.closePath();
+                }
+            }
+            outline.shape = path;
+        }
+        outline.collision = new CollisionShape(outline.shape);
+        return outline;
+    }
+
+    /**
+     * Reads a participant's type, outline and pose, and places its border and collision shape where the participant
+     * was
+     */
+    private static Pose parsePose (String line, List<Outline> outlines)
+    {
+        String[] words = line.split(" ");
+        Pose pose = new Pose();
+        pose.type = words[0];
+        pose.outline = outlines.get(Integer.parseInt(words[1]));
+        pose.x = Double.parseDouble(words[2]);
+        pose.y = Double.parseDouble(words[3]);
+        pose.rotation = Double.parseDouble(words[4]);
+
+        AffineTransform trans = AffineTransform.getTranslateInstance(pose.x, pose.y);
+        trans.concatenate(AffineTransform.getRotateInstance(pose.rotation));
+        pose.border = trans.createTransformedShape(pose.outline.shape);
+        pose.points = new double[pose.outline.collision.getPointCount()];
+        pose.outline.collision.transform(trans.getTranslateX(), trans.getTranslateY(), trans.getScaleX(),
+                trans.getShearY(), pose.points);
+        return pose;
+    }
+
+    /**
+     * Plays TICKS ticks of games with HeadlessGame's autopilot and writes the frames to the file named by the first
+     * argument, which should be collision-frames.txt beside this class. For each tick, the participants that were close
+     * enough to one they interact with to need the exact test are recorded where the collision check saw them.
+     */
+    public static void main (String[] args) throws IOException
+    {
+        System.setProperty("java.awt.headless", "true");
+        Controller controller = new Controller(new HeadlessView(), new SimulationClock());
+        long seed = SEED;
+        controller.startGame(seed);
+
+        Map<Shape, Integer> outlines = new IdentityHashMap<Shape, Integer>();
+        StringBuilder header = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        int frames = 0;
+        for (int tick = 0; tick < TICKS; tick++)
+        {
+            if (controller.getLives() <= 0)
+            {
+                controller.startGame(++seed);
+            }
+
+            // A participant that is destroyed during the tick stays where it was when it was tested, and nothing that
+            // is removed is reused before the next tick, so the participants from before the tick are just as the
+            // collision check saw them
+            List<Participant> participants = new ArrayList<Participant>();
+            for (Participant p : controller)
+            {
+                participants.add(p);
+            }
+            controller.tick(autopilot(tick));
+            List<Rectangle2D> bounds = new ArrayList<Rectangle2D>();
+            for (Participant p : participants)
+            {
+                bounds.add(transform(p).createTransformedShape(p.getOutline()).getBounds2D());
+            }
+            boolean[] close = new boolean[participants.size()];
+            boolean any = false;
+            for (int i = 0; i < participants.size(); i++)
+            {
+                for (int j = i + 1; j < participants.size(); j++)
+                {
+                    Participant a = participants.get(i);
+                    Participant b = participants.get(j);
+                    if ((a.reactsTo(b.getClass()) || b.reactsTo(a.getClass()))
+                            && bounds.get(i).intersects(bounds.get(j)))
+                    {
+                        close[i] = close[j] = any = true;
+                    }
+                }
+            }
+            if (!any)
+            {
+                continue;
+            }
+
+            frames++;
+            body.append("frame ").append(tick).append('\n');
+            for (int i = 0; i < participants.size(); i++)
+            {
+                if (close[i])
+                {
+                    Participant p = participants.get(i);
+                    Integer id = outlines.get(p.getOutline());
+                    if (id == null)
+                    {
+                        id = outlines.size();
+                        outlines.put(p.getOutline(), id);
+                        writeOutline(header, id, p.getOutline());
+                    }
+                    body.append(p.getClass().getSimpleName()).append(' ').append(id).append(' ').append(p.getX())
+                            .append(' ').append(p.getY()).append(' ').append(p.getRotation()).append('\n');
+                }
+            }
+        }
+
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(args[0]), StandardCharsets.US_ASCII))
+        {
+            out.write("# " + frames + " frames from " + TICKS + " ticks of games seeded from " + SEED
+                    + ", written by CollisionShapeTest.main\n");
+            out.write(header.toString());
+            out.write(body.toString());
+        }
+    }
+
+    /**
+     * Returns the actions that HeadlessGame's autopilot takes on the tick
+     */
+    private static int autopilot (int tick)
+    {
+        int actions = 0;
+        if (tick % 4 < 2)
+        {
+            actions |= Input.FIRE;
+        }
+        if ((tick / 45) % 3 == 0)
+        {
+            actions |= Input.TURN_LEFT;
+        }
+        if ((tick / 45) % 3 == 1)
+        {
+            actions |= Input.TURN_RIGHT;
+        }
+        if (tick % 120 < 15)
+        {
+            actions |= Input.THRUST;
+        }
+        return actions;
+    }
+
+    /**
+     * Returns the transform that places the participant's outline where it is
+     */
+    private static AffineTransform transform (Participant p)
+    {
+        AffineTransform trans = AffineTransform.getTranslateInstance(p.getX(), p.getY());
+        trans.concatenate(AffineTransform.getRotateInstance(p.getRotation()));
+        return trans;
+    }
+
+    /**
+     * Writes a line describing the outline: an ellipse by its frame, or a path by its winding rule and segments
+     */
+    private static void writeOutline (StringBuilder out, int id, Shape outline)
+    {
+        out.append("outline ").append(id);
+        if (outline instanceof Ellipse2D)
+        {
+            Ellipse2D e = (Ellipse2D) outline;
+            out.append(" ellipse ").append(e.getX()).append(' ').append(e.getY()).append(' ').append(e.getWidth())
+                    .append(' ').append(e.getHeight()).append('\n');
+            return;
+        }
+        PathIterator iter = outline.getPathIterator(null);
+        out.append(" path ").append(iter.getWindingRule());
+        double[] coords = new double[6];
+        String[] names = { "M", "L", "Q", "C", "Z" };
+        int[] points = { 1, 1, 2, 3, 0 };
+        for (; !iter.isDone(); iter.next())
+        {
+            int type = iter.currentSegment(coords);
+            out.append(' ').append(names[type]);
+            for (int i = 0; i < 2 * points[type]; i++)
+            {
+                out.append(' ').append(coords[i]);
+            }
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,162 @@
+package asteroids.game;
+
+/**
+ * Counts how the pairs of participants examined during one collision check were disposed of. The counts are reset at
+ * the start of every check, so after a frame they describe that frame alone.
+ */
+public class CollisionStats
+{
+    /**
+     * If the system property asteroids.verifyCollisions is set to true, every exact test is repeated with
+     * java.awt.geom.Area and any disagreement is counted as a mismatch.
+     */
+    private static final boolean VERIFY = Boolean.getBoolean("asteroids.verifyCollisions");
+
+    /** Pairs of active, non-inert participants dropped because their types can't interact */
+    private int typeRejects;
+
+    /** Pairs of active, non-inert participants that reached the overlap test */
+    private int pairsTested;
+
+    /** Pairs rejected because their bounding circles don't overlap */
+    private int circleRejects;
+
+    /** Pairs rejected because their bounding boxes don't overlap */
+    private int boundsRejects;
+
+    /** Pairs that needed the exact shape test */
+    private int exactTests;
+
+    /** Pairs that were found to overlap */
+    private int collisions;
+
+    /** Exact tests whose result disagreed with java.awt.geom.Area (counted only when verifying) */
+    private int mismatches;
+
+    /**
+     * Sets all of the counts to zero.
+     */
+    public void reset ()
+    {
+        typeRejects = 0;
+        pairsTested = 0;
+        circleRejects = 0;
+        boundsRejects = 0;
+        exactTests = 0;
+        collisions = 0;
+        mismatches = 0;
+    }
+
+    /**
+     * Counts a pair that was dropped because the types of its participants can't interact.
+     */
+    void typeRejected ()
+    {
+        typeRejects++;
+    }
+
+    /**
+     * Reports whether the participants in slots a and b of the store overlap, using the cheap tests on the store's
+     * arrays to avoid the exact one when possible and counting the outcome.
+     */
+    boolean overlaps (ParticipantStore store, int a, int b)
+    {
+        pairsTested++;
+        if (!store.circlesOverlap(a, b))
+        {
+            circleRejects++;
+            return false;
+        }
+        if (!store.boundsOverlap(a, b))
+        {
+            boundsRejects++;
+            return false;
+        }
+        exactTests++;
+        Participant p1 = store.get(a);
+        Participant p2 = store.get(b);
+        boolean overlap = p1.shapesOverlap(p2);
+        if (VERIFY && overlap != p1.areasOverlap(p2))
+        {
+            mismatches++;
+        }
+        if (overlap)
+        {
+            collisions++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of pairs dropped because their types can't interact
+     */
+    public int getTypeRejects ()
+    {
+        return typeRejects;
+    }
+
+    /**
+     * Returns the number of pairs that reached the overlap test
+     */
+    public int getPairsTested ()
+    {
+        return pairsTested;
+    }
+
+    /**
+     * Returns the number of pairs rejected by the bounding circle test
+     */
+    public int getCircleRejects ()
+    {
+        return circleRejects;
+    }
+
+    /**
+     * Returns the number of pairs rejected by the bounding box test
+     */
+    public int getBoundsRejects ()
+    {
+        return boundsRejects;
+    }
+
+    /**
+     * Returns the number of pairs that needed the exact shape test
+     */
+    public int getExactTests ()
+    {
+        return exactTests;
+    }
+
+    /**
+     * Returns the number of exact shape tests that were avoided by the cheap tests
+     */
+    public int getExactTestsAvoided ()
+    {
+        return circleRejects + boundsRejects;
+    }
+
+    /**
+     * Returns the number of pairs found to overlap
+     */
+    public int getCollisions ()
+    {
+        return collisions;
+    }
+
+    /**
+     * Returns the number of exact tests that disagreed with java.awt.geom.Area. This is always zero unless the
+     * asteroids.verifyCollisions system property is true.
+     */
+    public int getMismatches ()
+    {
+        return mismatches;
+    }
+
+    @Override
+    public String toString ()
+    {
+        return "typeRejects=" + typeRejects + " pairs=" + pairsTested + " circleRejects=" + circleRejects + " boundsRejects=" + boundsRejects
+                + " exactTests=" + exactTests + " collisions=" + collisions + " mismatches=" + mismatches;
+    }
+}
@@ -1,17 +1,10 @@
 package asteroids.game;
 
-import java.util.Random;
-
 /**
  * Provides constants that govern the game.
  */
 public class Constants
 {
-    /**
-     * A shared random number generator for general use.
-     */
-    public final static Random RANDOM = new Random();
-
     /**
      * The height and width of the game area.
      */
@@ -48,6 +41,17 @@ public class Constants
      */
     public final static int FRAME_INTERVAL = 33;
     
+    /**
+     * The most real time, in milliseconds, that the game will catch up on in one frame. After a longer stall, the game
+     * falls behind instead of running a burst of ticks.
+     */
+    public final static int MAX_FRAME_TIME = 250;
+
+    /**
+     * The display refresh rate, in frames per second, used when the real one can't be found
+     */
+    public final static int DEFAULT_REFRESH_RATE = 60;
+    
     /**
      * The number of milliseconds between beats, initially.
      */
@@ -195,4 +199,19 @@ public class Constants
      * Distance between ships when used to display lives
      */
     public final static int SHIP_SEPARATION = 6;
+    
+    /**
+     * Most bullets kept for reuse
+     */
+    public final static int BULLET_POOL_SIZE = 64;
+    
+    /**
+     * Most debris kept for reuse
+     */
+    public final static int DEBRIS_POOL_SIZE = 256;
+    
+    /**
+     * Most asteroids kept for reuse
+     */
+    public final static int ASTEROID_POOL_SIZE = 64;
 }
@@ -1,10 +1,12 @@
 package asteroids.game;
 
 import static asteroids.game.Constants.*;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
 import java.awt.event.*;
 import java.util.Iterator;
+import java.util.SplittableRandom;
 import javax.swing.*;
-import java.util.TreeMap;
 import asteroids.participants.*;
 
 /**
@@ -21,19 +23,34 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     /**The alien ship (if one is active) or null (otherwise) */
     private Alien alien;
     
-    /** The state of all keys of interest */
-    private KeyStates keyStates;
+    /** The keys pressed and released, turned into actions for each tick */
+    private Input input;
 
-    /** When this timer goes off, it is time to refresh the animation */
+    /** The Input actions taken on the latest tick */
+    private int actions;
+
+    /** When this timer goes off, it is time to refresh the animation (null when running headless) */
     private Timer refreshTimer;
+
+    /** The value of System.nanoTime at the last refresh, or 0 before the first */
+    private long lastFrame;
+
+    /** Real time, in nanoseconds, that has passed but hasn't been simulated yet */
+    private long unsimulated;
+
+    /** How far the display is from the tick before the latest one to the latest one, from 0 to 1 */
+    private double interpolation = 1;
+
+    /** The game time (in nanoseconds) before which the ship can't fire again */
+    private long nextFireTime;
     
     /** All needed sounds */
     private Sounds sound;
     
     /**
-     * The time at which a transition to a new stage of the game should be made. A transition is scheduled a few seconds
-     * in the future to give the user time to see what has happened before doing something like going to a new level or
-     * resetting the current level.
+     * The game time (in nanoseconds) at which a transition to a new stage of the game should be made. A transition is
+     * scheduled a few seconds in the future to give the user time to see what has happened before doing something like
+     * going to a new level or resetting the current level.
      */
     private long transitionTime;
 
@@ -46,18 +63,79 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     private int score = 0;
 
     /** The game display */
-    private Display display;
+    private GameView display;
+
+    /** Whether the profiler's report is shown on the screen */
+    private boolean profilerShown;
+
+    /** Records each game, or null if games aren't recorded */
+    private Recorder recorder;
+
+    /** The randomness of the current game */
+    private GameRandom random;
 
     /**
-     * Constructs a controller to coordinate the game and screen
+     * Constructs a controller to coordinate the game and screen. The game advances by ticks at the rate given by the
+     * asteroids.tickRate system property, and the screen is refreshed at the display's rate.
      */
     public Controller ()
     {
-        // Initialize the ParticipantState
-        pstate = new ParticipantState();
+        this(new Assets());
+    }
+
+    /**
+     * Constructs a controller whose sounds and images come from the assets, which are still loading. The splash screen
+     * is shown at once, and the sounds start playing once they are loaded.
+     */
+    private Controller (Assets assets)
+    {
+        this(new Sounds(assets), SimulationClock.fromSystemProperty());
         
         // Set up the refresh timer.
-        refreshTimer = new Timer(FRAME_INTERVAL, this);
+        refreshTimer = new Timer(1000 / getRefreshRate(), this);
+        
+        // Record the display object
+        display = new Display(this, assets);
+
+        // Bring up the splash screen and start the refresh timer
+        splashScreen();
+        display.setVisible(true);
+        refreshTimer.start();
+    }
+
+    /**
+     * Constructs a controller that runs without a window, sound, or refresh timer, keeping time with the clock.
+     * Nothing happens until the caller starts a game with startGame and then advances it by calling tick, as often as
+     * it likes.
+     */
+    Controller (GameView view, GameClock clock)
+    {
+        this(Sounds.silent(), clock);
+        display = view;
+        splashScreen();
+    }
+
+    /**
+     * Returns the refresh rate of the screen in frames per second, or DEFAULT_REFRESH_RATE if it isn't known
+     */
+    private static int getRefreshRate ()
+    {
+        DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
+        int rate = mode.getRefreshRate();
+        return (rate == DisplayMode.REFRESH_RATE_UNKNOWN) ? DEFAULT_REFRESH_RATE : rate;
+    }
+
+    /**
+     * Sets up the state shared by both kinds of controller
+     */
+    private Controller (Sounds sound, GameClock clock)
+    {
+        // Initialize the ParticipantState
+        pstate = new ParticipantState(clock);
+
+        // Until a game is started, randomness comes from an unpredictable seed
+        random = new GameRandom();
+        GameRandom.install(random);
 
         // Clear the transitionTime
         transitionTime = Long.MAX_VALUE;
@@ -66,18 +144,13 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
         level = 1;
         
         //Initialize sounds
-        sound = new Sounds();
-        
-        //Create an object for the key states
-        keyStates = new KeyStates();
+        this.sound = sound;
         
-        // Record the display object
-        display = new Display(this);
+        //Create an object for the keyboard input
+        input = new Input();
 
-        // Bring up the splash screen and start the refresh timer
-        splashScreen();
-        display.setVisible(true);
-        refreshTimer.start();
+        // Record games if asked to
+        recorder = Recorder.fromSystemProperty();
     }
 
     /**
@@ -159,10 +232,10 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     
     /**
      * Plays a sound
-     * @param name - name of sound to play
+     * @param s - the sound to play
      */
-    public void playSound(String name) {
-        sound.play(name);
+    public void playSound(Sound s) {
+        sound.play(s);
     }
     
     /**
@@ -189,7 +262,8 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
         if (alien != null) return;
         
         //Randomly decide whether to place on left or right side, set direction accordingly
-        boolean direction = RANDOM.nextBoolean();
+        SplittableRandom spawn = random.spawn();
+        boolean direction = spawn.nextBoolean();
         int x;
         if (direction) x = 0;
         else x = SIZE;
@@ -200,7 +274,7 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
         else size = Alien.SMALL;
         
         //Create alien
-        alien = new Alien(x, RANDOM.nextInt(SIZE), this, size, ALIEN_DELAY + RANDOM.nextInt(ALIEN_DELAY), direction);
+        alien = new Alien(x, spawn.nextInt(SIZE), this, size, ALIEN_DELAY + spawn.nextInt(ALIEN_DELAY), direction);
     }
 
     /**
@@ -215,7 +289,7 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
             else j = 600;
             if(i % 4 == 0 || i % 4 == 1) k = 600;
             else k = 150;
-        addParticipant(new Asteroid((int)(Math.random()*4), 2, j, k, 3, this));
+        addParticipant(Asteroid.create(random.spawn().nextInt(4), 2, j, k, 3, this));
         }
     }
 
@@ -278,7 +352,7 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     public void shipDestroyed ()
     {
         //Play sounds
-        sound.play("bangShip");
+        sound.play(Sound.BANG_SHIP);
         
         // Null out the ship
         ship = null;
@@ -307,12 +381,12 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     public void asteroidDestroyed (int size)
     {
         //Play the correct sound based on asteroid size
-        if (size == 0) sound.play("bangSmall");
-        else if (size == 1) sound.play("bangMedium");
-        else sound.play("bangLarge");
+        if (size == 0) sound.play(Sound.BANG_SMALL);
+        else if (size == 1) sound.play(Sound.BANG_MEDIUM);
+        else sound.play(Sound.BANG_LARGE);
         
         // If all the asteroids are gone schedule a transition
-        if (countAsteroids() == 0)
+        if (pstate.getCount(Asteroid.class) == 0)
         {
             scheduleTransition(END_DELAY);
             nextLevel();
@@ -327,7 +401,7 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     public void alienShipDestroyed (boolean isLarge) 
     {
         //Play destruction sound
-        sound.play("bangAlienShip");
+        sound.play(Sound.BANG_ALIEN_SHIP);
         
         //Award pts based on size
         if (isLarge)
@@ -341,11 +415,19 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     }
     
     /**
-     * Schedules a transition m msecs in the future
+     * Schedules a transition m msecs of game time in the future
      */
     private void scheduleTransition (int m)
     {
-        transitionTime = System.currentTimeMillis() + m;
+        transitionTime = pstate.getClock().nanoTime() + m * 1000000L;
+    }
+
+    /**
+     * Returns the clock that measures game time
+     */
+    public GameClock getClock ()
+    {
+        return pstate.getClock();
     }
 
     /**
@@ -358,49 +440,213 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
         // and bring up the initial screen
         if (e.getSource() instanceof JButton)
         {
-            initialScreen();
-            keyStates.offAll();
+            startGame();
         }
 
         // Time to refresh the screen and deal with keyboard input
         else if (e.getSource() == refreshTimer)
         {
-            // It may be time to make a game transition
-            performTransition();
+            frame();
+        }
+    }
+
+    /**
+     * Stops whatever is going on and begins a new game, as the start button does.
+     */
+    void startGame ()
+    {
+        startGame(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Stops whatever is going on and begins a new game whose randomness comes from the seed. Given the same seed, tick
+     * length, and actions on each tick, the game always plays out the same way, so it is recorded if games are being
+     * recorded. This must be called between ticks.
+     */
+    void startGame (long seed)
+    {
+        // Leave nothing behind from the last game that could change the order of the participants or the timing
+        clear();
+        pstate.completeAddsAndRemoves();
+        transitionTime = Long.MAX_VALUE;
+        nextFireTime = 0;
+
+        random = new GameRandom(seed);
+        GameRandom.install(random);
+        if (recorder != null)
+        {
+            recorder.startGame(seed, pstate.getClock().getTickLength());
+        }
+        initialScreen();
+        input.clear();
+        actions = 0;
+    }
+
+    /**
+     * Advances the game by one tick and refreshes the display.
+     */
+    void tick ()
+    {
+        step();
+        interpolation = 1;
+        render();
+    }
+
+    /**
+     * Advances the game by as many ticks as fit in the real time that has passed since the last frame, and refreshes
+     * the display part of the way into the next tick. The simulation keeps a fixed tick length however often this is
+     * called; time left over carries into the next frame.
+     */
+    private void frame ()
+    {
+        long start = System.nanoTime();
+        if (lastFrame != 0)
+        {
+            unsimulated += Math.min(start - lastFrame, MAX_FRAME_TIME * 1000000L);
+        }
+        lastFrame = start;
+
+        long tickLength = pstate.getClock().getTickLength();
+        while (unsimulated >= tickLength)
+        {
+            step();
+            unsimulated -= tickLength;
+        }
+        interpolation = (double) unsimulated / tickLength;
+        render();
+    }
+
+    /**
+     * Advances the game by one tick, taking the given Input actions instead of those of the keys, and refreshes the
+     * display. This is how a recorded game is played again.
+     */
+    void tick (int actions)
+    {
+        step(actions);
+        interpolation = 1;
+        render();
+    }
+
+    /**
+     * Advances the game by one tick, taking the actions of the keys pressed and released since the last tick.
+     */
+    private void step ()
+    {
+        step(input.nextTick(System.nanoTime(), pstate.getProfiler()));
+    }
+
+    /**
+     * Advances the game by one tick: makes any due transition, applies the actions to the ship, and moves the
+     * participants. The tick is recorded if games are being recorded, and it ends a tick of the profiler.
+     */
+    private void step (int actions)
+    {
+        long start = System.nanoTime();
+        TickProfiler profiler = pstate.getProfiler();
+        GameRandom.install(random);
+
+        // It may be time to make a game transition
+        performTransition();
+        
+        this.actions = actions;
+
+        //Perform ship actions if not already doing so
+        boolean thrusting = ship != null && (actions & Input.THRUST) != 0;
+        if (thrusting) sound.loop(Sound.THRUST);
+        else sound.stop(Sound.THRUST);
+        if (ship != null) {
+            // Move the ship, with the flame on only while thrusting
+            if (thrusting) ship.accelerate();
+            else ship.flameOff();
+            boolean left = (actions & Input.TURN_LEFT) != 0;
+            boolean right = (actions & Input.TURN_RIGHT) != 0;
+            if (!(left && right)) {
+                if (left) ship.turnLeft();
+                if (right) ship.turnRight();
+            }
             
-            //Perform ship actions if not already doing so
-            if (ship != null) {
-                // Move the ship
-                if (keyStates.thrust()) {
-                    ship.accelerate();
-                    sound.play("thrust");
-                }
-                if (!(keyStates.left() && keyStates.right())) {
-                    if (keyStates.left()) ship.turnLeft();
-                    if (keyStates.right()) ship.turnRight();
-                }
-                
-                //Fire bullet
-                if (keyStates.fire() && Bullet.bulletCount < BULLET_LIMIT) {
-                    sound.play("fire");
-                    double rotation = ship.getRotation();
-                    addParticipant(new Bullet(ship.getXNose(), ship.getYNose(), BULLET_SPEED, rotation));
-                }
+            //Fire bullet, no more than once per FRAME_INTERVAL
+            long now = pstate.getClock().nanoTime();
+            if ((actions & Input.FIRE) != 0 && pstate.getCount(Bullet.class) < BULLET_LIMIT && now >= nextFireTime) {
+                nextFireTime = now + FRAME_INTERVAL * 1000000L;
+                sound.play(Sound.FIRE);
+                double rotation = ship.getRotation();
+                addParticipant(Bullet.create(ship.getXNose(), ship.getYNose(), BULLET_SPEED, rotation));
             }
+        }
 
-            // Move the participants to their new locations
-            pstate.moveParticipants();
-            
-            //Play alien sound if on screen
-            if (alien != null)
-                if (alien.getSize() == 1)
-                    sound.play("saucerSmall");
-                else if (alien.getSize() == 2)
-                    sound.play("saucerBig");
-
-            // Refresh screen
-            display.refresh();
+        // Move the participants to their new locations
+        pstate.moveParticipants();
+        
+        //Loop the alien's sound while it is on screen
+        if (alien != null && alien.getSize() == 1) sound.loop(Sound.SAUCER_SMALL);
+        else sound.stop(Sound.SAUCER_SMALL);
+        if (alien != null && alien.getSize() == 2) sound.loop(Sound.SAUCER_BIG);
+        else sound.stop(Sound.SAUCER_BIG);
+
+        // Record the population
+        profiler.record(TickProfiler.Metric.ASTEROIDS, pstate.getCount(Asteroid.class));
+        profiler.record(TickProfiler.Metric.BULLETS, pstate.getCount(Bullet.class));
+        profiler.record(TickProfiler.Metric.DEBRIS, pstate.getCount(Debris.class));
+
+        if (recorder != null)
+        {
+            recorder.tick(actions, checksum());
+        }
+        profiler.record(TickProfiler.Metric.TICK, System.nanoTime() - start);
+        profiler.endTick();
+    }
+
+    /**
+     * Returns a checksum of the state of the game: the score, lives, and level, and the class, position, and rotation
+     * of each participant, in order. Two games in the same state have the same checksum.
+     */
+    int checksum ()
+    {
+        long h = ((score * 31L) + lives) * 31L + level;
+        for (Participant p : this)
+        {
+            h = h * 31 + p.getClass().getName().hashCode();
+            h = h * 31 + Double.doubleToLongBits(p.getX());
+            h = h * 31 + Double.doubleToLongBits(p.getY());
+            h = h * 31 + Double.doubleToLongBits(p.getRotation());
         }
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Refreshes the display and times the refresh. A frame may follow any number of ticks, so its times go into
+     * whichever window of the profiler is being filled.
+     */
+    private void render ()
+    {
+        long start = System.nanoTime();
+        display.refresh();
+        pstate.getProfiler().record(TickProfiler.Metric.REFRESH, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the profiler that times the phases of each tick
+     */
+    public TickProfiler getProfiler ()
+    {
+        return pstate.getProfiler();
+    }
+
+    /**
+     * Returns how far the display should be drawn from the tick before the latest one to the latest one, from 0 to 1
+     */
+    public double getInterpolation ()
+    {
+        return interpolation;
+    }
+
+    /**
+     * Reports whether the profiler's report should be shown on the screen
+     */
+    public boolean isProfilerShown ()
+    {
+        return profilerShown;
     }
 
     /**
@@ -409,7 +655,7 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     private void performTransition ()
     {
         // Do something only if the time has been reached
-        if (transitionTime <= System.currentTimeMillis())
+        if (transitionTime <= pstate.getClock().nanoTime())
         {
             // Clear the transition time
             transitionTime = Long.MAX_VALUE;
@@ -424,19 +670,11 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     }
     
     /**
-     * Returns the number of asteroids that are active participants
+     * Returns the number of active participants whose class is exactly the given one. This takes constant time.
      */
-    private int countAsteroids ()
+    public int getCount (Class<? extends Participant> type)
     {
-        int count = 0;
-        for (Participant p : this)
-        {
-            if (p instanceof Asteroid)
-            {
-                count++;
-            }
-        }
-        return count;
+        return pstate.getCount(type);
     }
 
     /**
@@ -445,8 +683,22 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     @Override
     public void keyPressed (KeyEvent e)
     {
-        if (ship == null) return;
-        keyStates.on(e.getKeyCode());
+        // F3 shows or hides the profiler's report
+        if (e.getKeyCode() == KeyEvent.VK_F3)
+        {
+            profilerShown = !profilerShown;
+            return;
+        }
+        pressKey(e.getKeyCode());
+    }
+
+    /**
+     * Records that the key with the given code is down, as though it had been pressed. The ship acts on it at the next
+     * tick.
+     */
+    void pressKey (int keyCode)
+    {
+        input.keyChanged(keyCode, true, System.nanoTime());
     }
 
     @Override
@@ -460,92 +712,15 @@ public class Controller implements KeyListener, ActionListener, Iterable<Partici
     @Override
     public void keyReleased (KeyEvent e)
     {
-        if (ship == null) return;
-        keyStates.off(e.getKeyCode());
-        
-        //Turn off ship flame if necessary
-        if (!keyStates.thrust()) ship.flameOff();
+        releaseKey(e.getKeyCode());
     }
-    
+
     /**
-     * Represents the state of all relevant keys and returns values for the controller
+     * Records that the key with the given code is up, as though it had been released. The ship acts on it at the next
+     * tick.
      */
-    private class KeyStates {
-        
-        /** Represents the state of all relevant keys */
-        private TreeMap<Integer, Boolean> keyState;
-        
-        public KeyStates () {
-            //Initialize all keys to false (not pressed)
-            keyState = new TreeMap<Integer, Boolean>();
-            keyState.put(KeyEvent.VK_W, false);
-            keyState.put(KeyEvent.VK_A, false);
-            keyState.put(KeyEvent.VK_S, false);
-            keyState.put(KeyEvent.VK_D, false);
-            keyState.put(KeyEvent.VK_UP, false);
-            keyState.put(KeyEvent.VK_DOWN, false);
-            keyState.put(KeyEvent.VK_LEFT, false);
-            keyState.put(KeyEvent.VK_RIGHT, false);
-            keyState.put(KeyEvent.VK_SPACE, false);
-        }
-        
-        /**
-         * Turns all keys off
-         */
-        public void offAll () {
-            keyState.put(KeyEvent.VK_W, false);
-            keyState.put(KeyEvent.VK_A, false);
-            keyState.put(KeyEvent.VK_S, false);
-            keyState.put(KeyEvent.VK_D, false);
-            keyState.put(KeyEvent.VK_UP, false);
-            keyState.put(KeyEvent.VK_DOWN, false);
-            keyState.put(KeyEvent.VK_LEFT, false);
-            keyState.put(KeyEvent.VK_RIGHT, false);
-            keyState.put(KeyEvent.VK_SPACE, false); 
-        }
-        
-        /**
-         * Turns a key off 
-         */
-        public void off (int key) {
-            keyState.put(key, false);
-        }
-        
-        /**
-         * Turns a key on
-         */
-        public void on (int key) {
-            keyState.put(key, true);
-        }
-        
-        /**
-         * @return Whether a thrust key is on
-         */
-        public boolean thrust () {
-            return keyState.get(KeyEvent.VK_W) || keyState.get(KeyEvent.VK_UP);
-        }
-        
-        /**
-         * @return Whether a fire key is on
-         */
-        public boolean fire () {
-            return keyState.get(KeyEvent.VK_S) || keyState.get(KeyEvent.VK_DOWN) || keyState.get(KeyEvent.VK_SPACE);
-        }
-        
-        /**
-         * @return Whether a turn left key is on
-         */
-        public boolean left () {
-            return keyState.get(KeyEvent.VK_A) || keyState.get(KeyEvent.VK_LEFT);
-        }
-        
-        /**
-         * @return Whether a turn right key is on
-         */
-        public boolean right () {
-            return keyState.get(KeyEvent.VK_D) || keyState.get(KeyEvent.VK_RIGHT);
-        }
-        
+    void releaseKey (int keyCode)
+    {
+        input.keyChanged(keyCode, false, System.nanoTime());
     }
-    
 }
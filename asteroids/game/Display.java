@@ -8,28 +8,20 @@ import java.awt.*;
  * Defines the top-level appearance of an Asteroids game.
  */
 @SuppressWarnings("serial")
-public class Display extends JFrame
+public class Display extends JFrame implements GameView
 {
-    /** The area where the action takes place */
+    /** The area where the action takes place, unless it is drawn actively */
     private Screen screen;
 
-    JPanel scorePanel = new JPanel();
-    
-    JLabel scoreLabel;
-    
-    JLabel levelLabel;
-    
-    Controller controllerCopy;
-    
-    JPanel livesPanel = new JPanel();
-    
+    /** The area where the action takes place when it is drawn actively, or null */
+    private ActiveScreen activeScreen;
+
     /**
-     * Lays out the game and creates the controller
+     * Lays out the game and creates the controller. The window takes the ship's image from the assets as its icon once
+     * it is loaded.
      */
-    public Display (Controller controller)
+    public Display (Controller controller, Assets assets)
     {
-        controllerCopy = controller;
-        
         // Title at the top
         setTitle(TITLE);
 
@@ -37,51 +29,25 @@ public class Display extends JFrame
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         // The main playing area and the controller
-         screen = new Screen(controller);
+        RenderMode mode = RenderMode.fromSystemProperty();
+        Component playArea;
+        if (mode == RenderMode.ACTIVE)
+        {
+            activeScreen = new ActiveScreen(controller);
+            playArea = activeScreen;
+        }
+        else
+        {
+            screen = new Screen(controller, mode);
+            playArea = screen;
+        }
         
-        // This panel shows the amount of lives left with ships
-        ImageIcon icon1 = new ImageIcon("src/images/SHIP.jpg");
-        ImageIcon scaledIcon = new ImageIcon(icon1.getImage().getScaledInstance(icon1.getIconWidth() / 3,
-               icon1.getIconHeight() / 2, Image.SCALE_SMOOTH));
-        JLabel Icon1 = new JLabel(scaledIcon);
-        JLabel Icon2 = new JLabel(scaledIcon);
-        Icon2.setOpaque(false);
-        JLabel Icon3 = new JLabel(scaledIcon);
-        Icon1.setOpaque(true);
-        livesPanel.add(Icon3);
-        livesPanel.add(Icon2);
-        livesPanel.add(Icon1);
-        
-        // This panel shows the level int
-        JPanel levelPanel = new JPanel();
-        levelLabel = new JLabel(controllerCopy.getLevel() + "");
-        levelLabel.setForeground(Color.white);
-        levelLabel.setFont(new Font("TimesRoman", Font.PLAIN, 40));
-        levelPanel.add(levelLabel);
-        makeScorePanel(controller);
-
         // This panel contains the screen to prevent the screen from being
         // resized
         JPanel screenPanel = new JPanel();
         screenPanel.setLayout(new GridBagLayout());
-        screenPanel.add(screen);
+        screenPanel.add(playArea);
         
-        JLayeredPane fullScreenPanel = new JLayeredPane();
-        fullScreenPanel.setPreferredSize(new Dimension(750, 750));
-        levelPanel.setSize(1450, 50);
-        scorePanel.setSize(150, 50);
-        screenPanel.setSize(750, 750);
-        livesPanel.setBounds(0, 50, 200, 500);
-        
-        levelPanel.setOpaque(false);
-        scorePanel.setOpaque(false);
-        livesPanel.setOpaque(false);
-
-        fullScreenPanel.add(levelPanel, new Integer(101));
-        fullScreenPanel.add(scorePanel, new Integer(100));
-        fullScreenPanel.add(livesPanel, new Integer(99));
-        fullScreenPanel.add(screenPanel, -1);
-
         // This panel contains buttons and labels
         JPanel controls = new JPanel();
 
@@ -92,42 +58,49 @@ public class Display extends JFrame
         // Organize everything
         JPanel mainPanel = new JPanel();
         mainPanel.setLayout(new BorderLayout());
-        mainPanel.add(fullScreenPanel, "Center");
+        mainPanel.add(screenPanel, "Center");
         mainPanel.add(controls, "North");
         setContentPane(mainPanel);
         pack();
 
         // Connect the controller to the start button
         startGame.addActionListener(controller);
+
+        // Use the ship as the icon when it arrives
+        assets.getShipImage().thenAccept(image -> {
+            if (image != null) SwingUtilities.invokeLater( () -> setIconImage(image));
+        });
     }
     
-    /**
-     * creates score Panel
-     */
-    public void makeScorePanel(Controller controller){
-        // This panel shows the Score int
-        scoreLabel = new JLabel(controller.getScore() + "");
-        scoreLabel.setForeground(Color.white);
-        scoreLabel.setFont(new Font("TimesRoman", Font.PLAIN, 40));
-        scorePanel.add(scoreLabel);
-    }
-
     /**
      * Called when it is time to update the screen display. This is what drives the animation.
      */
+    @Override
     public void refresh ()
     {
-        livesPanel.setLocation(-40-((3 - controllerCopy.getLives()) * 40), 50);
-        levelLabel.setText(controllerCopy.getLevel() + "");
-        scoreLabel.setText(controllerCopy.getScore() + "");
-        screen.repaint();
+        if (activeScreen != null)
+        {
+            activeScreen.refresh();
+        }
+        else
+        {
+            screen.refresh();
+        }
     }
 
     /**
      * Sets the large legend
      */
+    @Override
     public void setLegend (String s)
     {
-        screen.setLegend(s);
+        if (activeScreen != null)
+        {
+            activeScreen.setLegend(s);
+        }
+        else
+        {
+            screen.setLegend(s);
+        }
     }
 }
@@ -0,0 +1,129 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Draws frames of the game on a thread of its own. The game thread publishes a FrameSnapshot through one TripleBuffer;
+ * the render thread draws the newest snapshot into an image and publishes the image through another, then asks the
+ * Screen to repaint, which copies the newest image to the screen. Neither the game nor the screen ever waits for the
+ * render thread, and a frame that is drawn is never one that is being changed.
+ */
+class FrameRenderer implements Runnable
+{
+    /** Snapshots passed from the game thread to the render thread */
+    private final TripleBuffer<FrameSnapshot> frames;
+
+    /** Drawn frames passed from the render thread to the event dispatch thread */
+    private final TripleBuffer<DrawnFrame> images;
+
+    /** The screen that shows the frames */
+    private final Screen screen;
+
+    /** The profiler of the game, which is used only on the game thread */
+    private final TickProfiler profiler;
+
+    /** The render thread */
+    private final Thread thread;
+
+    /** The nanoseconds taken to draw the latest frame, or -1 if that time has already been recorded */
+    private final AtomicLong drawTime;
+
+    /** The sprites used by the render thread, or null if outlines are drawn as shapes */
+    private final SpriteCache sprites;
+
+    /** The HUD drawn by the render thread */
+    private final Hud hud;
+
+    /**
+     * An image drawn from a snapshot, with the time the snapshot was taken
+     */
+    private static class DrawnFrame
+    {
+        /** The image, the size of the screen */
+        final BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+
+        /** The value of System.nanoTime when the snapshot was taken */
+        long captureTime;
+    }
+
+    /**
+     * Creates a renderer for the screen and starts its thread. The game's profiler must only be used on the thread
+     * that runs the game, which is also the event dispatch thread.
+     */
+    public FrameRenderer (Screen screen, TickProfiler profiler)
+    {
+        this.screen = screen;
+        this.profiler = profiler;
+        frames = new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+        images = new TripleBuffer<>(new DrawnFrame(), new DrawnFrame(), new DrawnFrame());
+        drawTime = new AtomicLong(-1);
+        sprites = SpriteCache.ENABLED ? new SpriteCache() : null;
+        hud = new Hud();
+        thread = new Thread(this, "Asteroids renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Takes a snapshot of the controller's game and hands it to the render thread. This must be called on the thread
+     * that runs the game. It also records the time taken to draw the last frame, so that the profiler is only ever
+     * used from the game thread.
+     */
+    public void publish (Controller controller, String legend)
+    {
+        long nanos = drawTime.getAndSet(-1);
+        if (nanos >= 0)
+        {
+            profiler.record(TickProfiler.Metric.PAINT, nanos);
+        }
+        frames.getBack().capture(controller, legend);
+        frames.publish();
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Copies the newest image that has been drawn to g and, if it hasn't been shown before, records that it has reached
+     * the screen. This must be called on the event dispatch thread.
+     */
+    public void paint (Graphics g)
+    {
+        boolean fresh = images.update();
+        DrawnFrame drawn = images.getFront();
+        g.drawImage(drawn.image, 0, 0, null);
+        if (fresh)
+        {
+            profiler.framePresented(drawn.captureTime);
+        }
+    }
+
+    /**
+     * Draws each new snapshot as it arrives, waiting when there is none
+     */
+    @Override
+    public void run ()
+    {
+        while (true)
+        {
+            if (!frames.update())
+            {
+                LockSupport.park(this);
+                continue;
+            }
+            long start = System.nanoTime();
+            FrameSnapshot frame = frames.getFront();
+            DrawnFrame drawn = images.getBack();
+            Graphics2D g = drawn.image.createGraphics();
+            Screen.drawFrame(g, frame, hud, sprites);
+            g.dispose();
+            drawn.captureTime = frame.getCaptureTime();
+            images.publish();
+            drawTime.set(System.nanoTime() - start);
+            screen.repaint();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package asteroids.game;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.util.Arrays;
+
+/**
+ * Everything needed to draw one frame of the game, copied out of the Controller so that another thread can draw it
+ * while the game goes on. For each participant it holds the outline, the outline of any effect (such as the ship's
+ * flame), the position and rotation at which to draw them, and the type id; for the frame as a whole it holds the
+ * legend, the score, level, and lives, and the profiler's report if it is shown.
+ *
+ * A snapshot is not changed once it has been handed to another thread. Snapshots are used again and again through a
+ * TripleBuffer, and their arrays grow as needed and are kept, so after the game has warmed up a snapshot is taken
+ * without making new arrays.
+ */
+class FrameSnapshot
+{
+    /** The outline of each participant */
+    private Shape[] outlines;
+
+    /** The outline of each participant's effect, or null */
+    private Shape[] effects;
+
+    /** The position and rotation of each participant */
+    private double[] x, y, rotation;
+
+    /** The collision matrix type id of each participant */
+    private int[] typeIds;
+
+    /** The number of participants */
+    private int count;
+
+    /** The legend */
+    private String legend;
+
+    /** The score, level, and lives */
+    private int score, level, lives;
+
+    /** The lines of the profiler's report, or null if it isn't shown */
+    private String[] profile;
+
+    /** The value of System.nanoTime when the snapshot was taken */
+    private long captureTime;
+
+    /** The position and rotation of one participant, filled in by Participant.pose */
+    private final double[] pose;
+
+    /** Gathers the outlines while drawing */
+    private final OutlineBatch batch;
+
+    /**
+     * Creates an empty snapshot
+     */
+    public FrameSnapshot ()
+    {
+        outlines = new Shape[64];
+        effects = new Shape[64];
+        x = new double[64];
+        y = new double[64];
+        rotation = new double[64];
+        typeIds = new int[64];
+        legend = "";
+        pose = new double[3];
+        batch = new OutlineBatch();
+    }
+
+    /**
+     * Replaces the contents of this snapshot with the state of the controller's game, with each participant the
+     * controller's interpolation of the way between its last two ticks. Expired participants are left out.
+     */
+    void capture (Controller controller, String legend)
+    {
+        captureTime = System.nanoTime();
+        double alpha = controller.getInterpolation();
+        int previous = count;
+        count = 0;
+        for (Participant p : controller)
+        {
+            if (p.isExpired())
+            {
+                continue;
+            }
+            if (count == outlines.length)
+            {
+                grow();
+            }
+            p.pose(alpha, pose);
+            outlines[count] = p.getOutline();
+            effects[count] = p.getEffectOutline();
+            x[count] = pose[0];
+            y[count] = pose[1];
+            rotation[count] = pose[2];
+            typeIds[count] = p.getTypeId();
+            count++;
+        }
+
+        // Let go of the outlines of participants that have left since this snapshot was last used
+        if (previous > count)
+        {
+            Arrays.fill(outlines, count, previous, null);
+            Arrays.fill(effects, count, previous, null);
+        }
+
+        this.legend = legend;
+        score = controller.getScore();
+        level = controller.getLevel();
+        lives = controller.getLives();
+        profile = controller.isProfilerShown() ? controller.getProfiler().getReport() : null;
+    }
+
+    /**
+     * Draws the outlines and effects of the participants with the current color, stroke, and hints. Outlines are copied
+     * from the sprite cache if there is one and it can hold them; the rest are drawn in one batch for each type of
+     * participant.
+     */
+    void drawParticipants (Graphics2D g, SpriteCache sprites)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            drawOutline(g, sprites, typeIds[i], outlines[i], x[i], y[i], rotation[i]);
+            if (effects[i] != null)
+            {
+                drawOutline(g, sprites, typeIds[i], effects[i], x[i], y[i], rotation[i]);
+            }
+        }
+        batch.draw(g);
+    }
+
+    /**
+     * Draws an outline from the sprite cache, or adds it to the batch if that can't be done
+     */
+    private void drawOutline (Graphics2D g, SpriteCache sprites, int typeId, Shape outline, double x, double y,
+            double rotation)
+    {
+        if (sprites == null || !sprites.draw(g, outline, x, y, rotation))
+        {
+            batch.add(typeId, outline, x, y, rotation);
+        }
+    }
+
+    /**
+     * Returns the number of participants
+     */
+    public int getCount ()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the collision matrix type id of a participant
+     */
+    public int getTypeId (int i)
+    {
+        return typeIds[i];
+    }
+
+    /**
+     * Returns the legend
+     */
+    public String getLegend ()
+    {
+        return legend;
+    }
+
+    /**
+     * Returns the score
+     */
+    public int getScore ()
+    {
+        return score;
+    }
+
+    /**
+     * Returns the level
+     */
+    public int getLevel ()
+    {
+        return level;
+    }
+
+    /**
+     * Returns the number of lives left
+     */
+    public int getLives ()
+    {
+        return lives;
+    }
+
+    /**
+     * Returns the value of System.nanoTime when the snapshot was taken
+     */
+    public long getCaptureTime ()
+    {
+        return captureTime;
+    }
+
+    /**
+     * Returns the lines of the profiler's report, or null if it isn't shown
+     */
+    public String[] getProfile ()
+    {
+        return profile;
+    }
+
+    /**
+     * Doubles the room for participants
+     */
+    private void grow ()
+    {
+        int capacity = 2 * outlines.length;
+        outlines = Arrays.copyOf(outlines, capacity);
+        effects = Arrays.copyOf(effects, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        typeIds = Arrays.copyOf(typeIds, capacity);
+    }
+}
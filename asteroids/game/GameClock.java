@@ -0,0 +1,50 @@
+package asteroids.game;
+
+/**
+ * The source of time for the game. Everything in the game that depends on time (level transitions and the countdowns
+ * of participants) reads it from a GameClock rather than from the system clock, so a game behaves the same whether it
+ * is being played live, run faster than real time, or stepped one tick at a time.
+ *
+ * Time is counted in ticks, each of which stands for a fixed number of simulated nanoseconds.
+ */
+public interface GameClock
+{
+    /**
+     * Returns the number of ticks that have passed
+     */
+    long getTicks ();
+
+    /**
+     * Returns the number of simulated nanoseconds in one tick
+     */
+    long getTickLength ();
+
+    /**
+     * Returns the number of simulated nanoseconds that have passed
+     */
+    long nanoTime ();
+
+    /**
+     * Moves the clock forward by one tick
+     */
+    void tick ();
+
+    /**
+     * Converts a duration in milliseconds to a number of ticks, rounding up. Every duration lasts at least one tick.
+     */
+    default int ticksFor (long msecs)
+    {
+        long nanos = msecs * 1000000L;
+        return (int) Math.max(1, (nanos + getTickLength() - 1) / getTickLength());
+    }
+
+    /**
+     * Returns the length of a tick as a fraction of FRAME_INTERVAL, the tick length for which the game's speeds and
+     * rates of turning, acceleration, and friction are given. Anything that changes by a fixed amount each tick is
+     * scaled by this, so that it changes at the same rate per second whatever the tick rate.
+     */
+    default double getTimeScale ()
+    {
+        return getTickLength() / (Constants.FRAME_INTERVAL * 1e6);
+    }
+}
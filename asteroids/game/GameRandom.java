@@ -0,0 +1,119 @@
+package asteroids.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * The randomness of one game. A root SplittableRandom made from the game's seed is split into a separate stream for
+ * each kind of use: spawning asteroids and aliens, scattering debris, steering and aiming aliens, and cosmetic effects
+ * such as the flicker of the ship's flame. Because the streams are independent, how often one is drawn from doesn't
+ * change what the others produce, so a cosmetic effect that is drawn a varying number of times can't change how the
+ * game plays out. Given the same seed, every stream produces the same values.
+ *
+ * Each thread has a current GameRandom, which is where participants created on that thread get their randomness. A
+ * Controller installs its GameRandom as the current one when it is created, when it starts a game, and each time it
+ * steps, so games run side by side on separate threads never share a generator or contend for one. A thread that uses
+ * randomness without having installed a GameRandom is an error, since an unseeded fallback would quietly make a game
+ * or benchmark impossible to repeat. The streams themselves are not safe to use from more than one thread.
+ */
+public class GameRandom
+{
+    /** The GameRandom installed on each thread, if any */
+    private static final ThreadLocal<GameRandom> current = new ThreadLocal<GameRandom>();
+
+    /** The seed the streams are derived from */
+    private final long seed;
+
+    /** The stream for placing and breaking up asteroids and placing aliens */
+    private final SplittableRandom spawn;
+
+    /** The stream for scattering debris */
+    private final SplittableRandom debris;
+
+    /** The stream for the movement and aim of aliens */
+    private final SplittableRandom ai;
+
+    /** The stream for effects that don't change how the game plays out */
+    private final SplittableRandom cosmetic;
+
+    /**
+     * Creates the randomness of a game with an unpredictable seed
+     */
+    public GameRandom ()
+    {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates the randomness of a game, deriving every stream from the seed
+     */
+    public GameRandom (long seed)
+    {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        spawn = root.split();
+        debris = root.split();
+        ai = root.split();
+        cosmetic = root.split();
+    }
+
+    /**
+     * Returns the current GameRandom for this thread, throwing an IllegalStateException if none has been installed
+     */
+    public static GameRandom current ()
+    {
+        GameRandom random = current.get();
+        if (random == null)
+        {
+            throw new IllegalStateException("No GameRandom has been installed on " + Thread.currentThread().getName());
+        }
+        return random;
+    }
+
+    /**
+     * Makes random the current GameRandom for this thread
+     */
+    public static void install (GameRandom random)
+    {
+        current.set(random);
+    }
+
+    /**
+     * Returns the seed the streams are derived from
+     */
+    public long getSeed ()
+    {
+        return seed;
+    }
+
+    /**
+     * Returns the stream for placing and breaking up asteroids and placing aliens
+     */
+    public SplittableRandom spawn ()
+    {
+        return spawn;
+    }
+
+    /**
+     * Returns the stream for scattering debris
+     */
+    public SplittableRandom debris ()
+    {
+        return debris;
+    }
+
+    /**
+     * Returns the stream for the movement and aim of aliens
+     */
+    public SplittableRandom ai ()
+    {
+        return ai;
+    }
+
+    /**
+     * Returns the stream for effects that don't change how the game plays out, such as the flicker of the ship's flame
+     */
+    public SplittableRandom cosmetic ()
+    {
+        return cosmetic;
+    }
+}
@@ -0,0 +1,40 @@
+package asteroids.game;
+
+import java.awt.event.KeyListener;
+
+/**
+ * The parts of the game's window that the Controller uses. A {@link Display} provides them by being a JFrame; a
+ * {@link HeadlessView} provides them without any window at all.
+ */
+public interface GameView
+{
+    /**
+     * Called when it is time to update the screen display
+     */
+    void refresh ();
+
+    /**
+     * Sets the large legend
+     */
+    void setLegend (String s);
+
+    /**
+     * Starts sending key events to the listener
+     */
+    void addKeyListener (KeyListener listener);
+
+    /**
+     * Stops sending key events to the listener
+     */
+    void removeKeyListener (KeyListener listener);
+
+    /**
+     * Asks for the keyboard focus
+     */
+    boolean requestFocusInWindow ();
+
+    /**
+     * Shows or hides the view
+     */
+    void setVisible (boolean visible);
+}
@@ -0,0 +1,87 @@
+package asteroids.game;
+
+import java.awt.event.KeyEvent;
+import asteroids.participants.Asteroid;
+import asteroids.participants.Bullet;
+import asteroids.participants.Debris;
+
+/**
+ * Runs games of Asteroids without a window, sound, or refresh timer, as fast as the processor allows. A simple
+ * autopilot turns, thrusts, and fires, and a new game is started whenever one ends. When the run is over, the number
+ * of ticks per second is reported.
+ *
+ * Usage: java [-Dasteroids.tickRate=hz] [-Dasteroids.record=file] asteroids.game.HeadlessGame [ticks]
+ */
+public class HeadlessGame
+{
+    /** The number of ticks to run when none is given */
+    private static final int DEFAULT_TICKS = 100000;
+
+    /**
+     * Runs the number of ticks given by the first argument (or DEFAULT_TICKS) and reports the results.
+     */
+    public static void main (String[] args)
+    {
+        System.setProperty("java.awt.headless", "true");
+        int ticks = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+
+        GameClock clock = SimulationClock.fromSystemProperty();
+        Controller controller = new Controller(new HeadlessView(), clock);
+        controller.startGame();
+        int games = 1;
+        int highestLevel = 1;
+
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++)
+        {
+            if (controller.getLives() <= 0)
+            {
+                controller.startGame();
+                games++;
+            }
+            steer(controller, tick);
+            controller.tick();
+            highestLevel = Math.max(highestLevel, controller.getLevel());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1e9;
+        System.out.printf("%d ticks in %.3f s (%.0f ticks/s, %.1fx real time)%n", ticks, seconds, ticks / seconds,
+                clock.nanoTime() / 1e9 / seconds);
+        System.out.printf("%d games, highest level %d%n", games, highestLevel);
+        for (String line : controller.getProfiler().getReport())
+        {
+            System.out.println(line);
+        }
+        System.out.println("bullet pool:   " + Bullet.getPool());
+        System.out.println("debris pool:   " + Debris.getPool());
+        System.out.println("asteroid pool: " + Asteroid.getPool());
+    }
+
+    /**
+     * Sets the keys for the given tick: fire on and off, turn left then right then go straight, and thrust briefly
+     * every few seconds.
+     */
+    private static void steer (Controller controller, int tick)
+    {
+        setKey(controller, KeyEvent.VK_SPACE, tick % 4 < 2);
+        setKey(controller, KeyEvent.VK_LEFT, (tick / 45) % 3 == 0);
+        setKey(controller, KeyEvent.VK_RIGHT, (tick / 45) % 3 == 1);
+        setKey(controller, KeyEvent.VK_UP, tick % 120 < 15);
+    }
+
+    /**
+     * Presses or releases a key
+     */
+    private static void setKey (Controller controller, int keyCode, boolean down)
+    {
+        if (down)
+        {
+            controller.pressKey(keyCode);
+        }
+        else
+        {
+            controller.releaseKey(keyCode);
+        }
+    }
+}
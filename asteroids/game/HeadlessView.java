@@ -0,0 +1,53 @@
+package asteroids.game;
+
+import java.awt.event.KeyListener;
+
+/**
+ * A GameView with no window, used to run the game logic where there is no display. It remembers the legend but
+ * otherwise does nothing.
+ */
+public class HeadlessView implements GameView
+{
+    /** The most recent legend */
+    private String legend = "";
+
+    @Override
+    public void refresh ()
+    {
+    }
+
+    @Override
+    public void setLegend (String s)
+    {
+        legend = s;
+    }
+
+    /**
+     * Returns the most recent legend
+     */
+    public String getLegend ()
+    {
+        return legend;
+    }
+
+    @Override
+    public void addKeyListener (KeyListener listener)
+    {
+    }
+
+    @Override
+    public void removeKeyListener (KeyListener listener)
+    {
+    }
+
+    @Override
+    public boolean requestFocusInWindow ()
+    {
+        return false;
+    }
+
+    @Override
+    public void setVisible (boolean visible)
+    {
+    }
+}
@@ -0,0 +1,123 @@
+package asteroids.game;
+
+import java.util.Arrays;
+
+/**
+ * Counts non-negative values in a fixed set of buckets, so that recording a value never allocates. Values below 16 get
+ * a bucket each; above that, each power of two is divided into 16 buckets, so a bucket's width is never more than
+ * about 6% of the values in it. Percentiles are reported as the upper end of the bucket that holds them.
+ */
+class Histogram
+{
+    /** The number of bits used to divide each power of two */
+    private static final int SUB_BITS = 4;
+
+    /** The number of buckets in each power of two */
+    private static final int SUB = 1 << SUB_BITS;
+
+    /** Enough buckets to hold any long */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    /** The number of values in each bucket */
+    private int[] counts;
+
+    /** The number of values recorded */
+    private int total;
+
+    /** The largest value recorded */
+    private long max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public Histogram ()
+    {
+        counts = new int[BUCKETS];
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     */
+    public void record (long value)
+    {
+        value = Math.max(0, value);
+        counts[indexOf(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Discards every value.
+     */
+    public void clear ()
+    {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Returns the number of values recorded
+     */
+    public int getCount ()
+    {
+        return total;
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if there are none
+     */
+    public long getMax ()
+    {
+        return max;
+    }
+
+    /**
+     * Returns the value at or below which the fraction q (between 0 and 1) of the values lie, or 0 if there are none.
+     */
+    public long getPercentile (double q)
+    {
+        if (total == 0)
+        {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+            {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the bucket that holds the value
+     */
+    private static int indexOf (long value)
+    {
+        if (value < SUB)
+        {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB + (int) ((value >>> shift) - SUB);
+    }
+
+    /**
+     * Returns the largest value that goes in the bucket
+     */
+    private static long upperBound (int index)
+    {
+        if (index < SUB)
+        {
+            return index;
+        }
+        int shift = index / SUB - 1;
+        long mantissa = index % SUB + SUB;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,108 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the percentiles a Histogram reports against ones computed exactly from the recorded values.
+ */
+public class HistogramTest
+{
+    /** The percentiles checked */
+    private static final double[] QUANTILES = { 0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1 };
+
+    @Test
+    public void emptyHistogramReportsZero ()
+    {
+        Histogram h = new Histogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+        assertEquals(0, h.getPercentile(0.5));
+        assertEquals(0, h.getPercentile(1));
+    }
+
+    @Test
+    public void smallValuesAreExact ()
+    {
+        Histogram h = new Histogram();
+        for (int v = 15; v >= 0; v--)
+        {
+            h.record(v);
+        }
+        assertEquals(16, h.getCount());
+        assertEquals(0, h.getPercentile(0));
+        assertEquals(7, h.getPercentile(0.5));
+        assertEquals(14, h.getPercentile(0.9));
+        assertEquals(15, h.getPercentile(1));
+    }
+
+    @Test
+    public void negativeValuesCountAsZero ()
+    {
+        Histogram h = new Histogram();
+        h.record(-5);
+        h.record(-1);
+        h.record(3);
+        assertEquals(3, h.getCount());
+        assertEquals(0, h.getPercentile(0.5));
+        assertEquals(3, h.getMax());
+    }
+
+    @Test
+    public void percentilesAreWithinOneBucketOfExact ()
+    {
+        Random random = new Random(8);
+        for (int scale : new int[] { 20, 1000, 33000000, Integer.MAX_VALUE })
+        {
+            Histogram h = new Histogram();
+            long[] values = new long[5000];
+            for (int i = 0; i < values.length; i++)
+            {
+                // Mostly small with a long tail, like tick times
+                values[i] = (long) (scale * Math.pow(random.nextDouble(), 4));
+                h.record(values[i]);
+            }
+            Arrays.sort(values);
+
+            for (double q : QUANTILES)
+            {
+                long exact = values[(int) Math.max(0, Math.ceil(q * values.length) - 1)];
+                long reported = h.getPercentile(q);
+                assertTrue(reported >= exact, "p" + q + " of scale " + scale + ": " + reported + " < " + exact);
+                assertTrue(reported <= exact + exact / 16, "p" + q + " of scale " + scale + ": " + reported
+                        + " is more than a bucket above " + exact);
+            }
+            assertEquals(values[values.length - 1], h.getMax());
+            assertEquals(values[values.length - 1], h.getPercentile(1));
+        }
+    }
+
+    @Test
+    public void handlesTheLargestValues ()
+    {
+        Histogram h = new Histogram();
+        h.record(Long.MAX_VALUE);
+        h.record(1L << 62);
+        long median = h.getPercentile(0.5);
+        assertTrue(median >= 1L << 62 && median < (1L << 62) + (1L << 58), "median " + median);
+        assertEquals(Long.MAX_VALUE, h.getPercentile(1));
+    }
+
+    @Test
+    public void clearDiscardsEverything ()
+    {
+        Histogram h = new Histogram();
+        for (int v = 0; v < 1000; v++)
+        {
+            h.record(v * 1000L);
+        }
+        h.clear();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+        assertEquals(0, h.getPercentile(0.99));
+        h.record(42);
+        assertEquals(42, h.getPercentile(0.5));
+    }
+}
@@ -0,0 +1,140 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import asteroids.participants.Ship;
+
+/**
+ * Draws the score in the upper left of the play area, the level in the upper right, a ship for each life left under
+ * the score, and the legend across the middle. The text is laid out into GlyphVectors and the ships into one path, and
+ * these are kept and drawn frame after frame; they are laid out again only when the score, level, lives, or legend
+ * change, or when the graphics being drawn to lay text out differently.
+ *
+ * A HUD must be used on one thread at a time.
+ */
+class Hud
+{
+    /** Font used for the score and level */
+    private static final Font HUD_FONT = new Font(Font.SERIF, Font.PLAIN, 40);
+
+    /** Font used for the legend */
+    private static final Font LEGEND_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 120);
+
+    /** The outline of a ship as shown for each life left, pointing up */
+    private static final Shape LIFE_OUTLINE = createLifeOutline();
+
+    /** The context the text was laid out for, or null if nothing has been laid out */
+    private FontRenderContext context;
+
+    /** The baseline of the score and level */
+    private float baseline;
+
+    /** The y coordinate of the centers of the ships */
+    private double livesY;
+
+    /** The score, level, and lives that were laid out, or -1 if none were */
+    private int score, level, lives;
+
+    /** The legend that was laid out */
+    private String legend;
+
+    /** The laid out score, level, and legend */
+    private GlyphVector scoreGlyphs, levelGlyphs, legendGlyphs;
+
+    /** Where the level and legend start */
+    private float levelX, legendX;
+
+    /** A ship for each life */
+    private final Path2D.Double livesPath;
+
+    /**
+     * Creates a HUD that has laid nothing out yet
+     */
+    public Hud ()
+    {
+        score = -1;
+        level = -1;
+        lives = -1;
+        legend = "";
+        livesPath = new Path2D.Double();
+    }
+
+    /**
+     * Returns the ship's outline turned to point up, SHIP_WIDTH wide and SHIP_HEIGHT high, centered on the origin
+     */
+    private static Shape createLifeOutline ()
+    {
+        return AffineTransform.getRotateInstance(-Math.PI / 2).createTransformedShape(Ship.getOutlineCopy());
+    }
+
+    /**
+     * Draws the score, level, lives, and legend of the snapshot with the current color, laying out whatever has changed
+     * since the last frame
+     */
+    public void draw (Graphics2D g, FrameSnapshot frame)
+    {
+        FontRenderContext current = g.getFontRenderContext();
+        if (!current.equals(context))
+        {
+            context = current;
+            score = -1;
+            level = -1;
+            legendGlyphs = null;
+            LineMetrics metrics = HUD_FONT.getLineMetrics("0", context);
+            baseline = LABEL_VERTICAL_OFFSET + metrics.getAscent();
+            livesY = baseline + metrics.getDescent() + SHIP_SEPARATION + SHIP_HEIGHT / 2;
+            lives = -1;
+        }
+
+        if (frame.getScore() != score)
+        {
+            score = frame.getScore();
+            scoreGlyphs = HUD_FONT.createGlyphVector(context, Integer.toString(score));
+        }
+        if (frame.getLevel() != level)
+        {
+            level = frame.getLevel();
+            levelGlyphs = HUD_FONT.createGlyphVector(context, Integer.toString(level));
+            levelX = (float) (SIZE - LABEL_HORIZONTAL_OFFSET - levelGlyphs.getLogicalBounds().getWidth());
+        }
+        if (frame.getLives() != lives)
+        {
+            layOutLives(frame.getLives());
+        }
+        if (legendGlyphs == null || !frame.getLegend().equals(legend))
+        {
+            legend = frame.getLegend();
+            legendGlyphs = LEGEND_FONT.createGlyphVector(context, legend);
+            legendX = (float) ((SIZE - legendGlyphs.getLogicalBounds().getWidth()) / 2);
+        }
+
+        g.drawGlyphVector(scoreGlyphs, LABEL_HORIZONTAL_OFFSET, baseline);
+        g.drawGlyphVector(levelGlyphs, levelX, baseline);
+        g.draw(livesPath);
+        if (!legend.isEmpty())
+        {
+            g.drawGlyphVector(legendGlyphs, legendX, SIZE / 2);
+        }
+    }
+
+    /**
+     * Puts a ship in the path for each life, in a row under the score
+     */
+    private void layOutLives (int lives)
+    {
+        this.lives = lives;
+        livesPath.reset();
+        AffineTransform trans = new AffineTransform();
+        for (int i = 0; i < lives; i++)
+        {
+            double x = LABEL_HORIZONTAL_OFFSET + SHIP_WIDTH / 2 + i * (SHIP_WIDTH + SHIP_SEPARATION);
+            trans.setToTranslation(x, livesY);
+            livesPath.append(LIFE_OUTLINE.getPathIterator(trans), false);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package asteroids.game;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Turns key presses and releases into the actions the ship takes on each tick. Each transition of a key of interest is
+ * put, with the value of System.nanoTime when it happened, into a RingBuffer as soon as it is reported. At the start
+ * of each tick the game takes all the transitions since the last tick and gets back a bitmask of the actions to take.
+ * An action is in the mask if one of its keys is down, or if one was pressed since the last tick, so a tap that is
+ * pressed and released between two ticks still acts for one tick.
+ *
+ * Keys may be reported on one thread and ticks taken on another, but only one thread may do each. Neither allocates.
+ */
+class Input
+{
+    /** The action of accelerating the ship */
+    public static final int THRUST = 1;
+
+    /** The action of turning the ship to the left */
+    public static final int TURN_LEFT = 2;
+
+    /** The action of turning the ship to the right */
+    public static final int TURN_RIGHT = 4;
+
+    /** The action of firing a bullet */
+    public static final int FIRE = 8;
+
+    /** The keys of interest */
+    private static final int[] KEYS = { KeyEvent.VK_W, KeyEvent.VK_UP, KeyEvent.VK_A, KeyEvent.VK_LEFT, KeyEvent.VK_D,
+            KeyEvent.VK_RIGHT, KeyEvent.VK_S, KeyEvent.VK_DOWN, KeyEvent.VK_SPACE };
+
+    /** The action of each key of interest */
+    private static final int[] ACTIONS = { THRUST, THRUST, TURN_LEFT, TURN_LEFT, TURN_RIGHT, TURN_RIGHT, FIRE, FIRE,
+            FIRE };
+
+    /** The number of transitions that can wait for a tick */
+    private static final int CAPACITY = 256;
+
+    /** A transition is queued with the time in the high bits, then a bit that is set for a press, then the key */
+    private static final int PRESS = 1 << 4, KEY = PRESS - 1, TIME_SHIFT = 5;
+
+    /** Transitions waiting for the next tick */
+    private final RingBuffer transitions;
+
+    /** The value of System.nanoTime that queued times are measured from, which keeps them positive */
+    private final long epoch;
+
+    /** One bit for each key of interest, by index, that is down */
+    private int down;
+
+    /**
+     * Creates an input with no keys down
+     */
+    public Input ()
+    {
+        transitions = new RingBuffer(CAPACITY);
+        epoch = System.nanoTime();
+    }
+
+    /**
+     * Records that the key with the given code went down or up at the given System.nanoTime. Keys that aren't of
+     * interest are ignored, as are transitions that arrive when CAPACITY of them are already waiting. Only the thread
+     * that reports keys may call this.
+     */
+    public void keyChanged (int keyCode, boolean pressed, long time)
+    {
+        for (int key = 0; key < KEYS.length; key++)
+        {
+            if (KEYS[key] == keyCode)
+            {
+                transitions.offer(((time - epoch) << TIME_SHIFT) | (pressed ? PRESS : 0) | key);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Takes the transitions since the last tick and returns the actions for the tick that begins at the given
+     * System.nanoTime. The time from each transition to the tick is recorded as the profiler's INPUT metric. Only the
+     * thread that runs the game may call this.
+     */
+    public int nextTick (long now, TickProfiler profiler)
+    {
+        int pressed = 0;
+        while (!transitions.isEmpty())
+        {
+            long transition = transitions.take();
+            int bit = 1 << (int) (transition & KEY);
+            if ((transition & PRESS) != 0)
+            {
+                down |= bit;
+                pressed |= bit;
+            }
+            else
+            {
+                down &= ~bit;
+            }
+            profiler.record(TickProfiler.Metric.INPUT, now - epoch - (transition >>> TIME_SHIFT));
+        }
+        return actionsOf(down | pressed);
+    }
+
+    /**
+     * Forgets the transitions waiting for the next tick and treats every key as up until it is pressed again. Only the
+     * thread that runs the game may call this.
+     */
+    public void clear ()
+    {
+        while (!transitions.isEmpty())
+        {
+            transitions.take();
+        }
+        down = 0;
+    }
+
+    /**
+     * Returns the actions of the keys whose bits are set
+     */
+    private static int actionsOf (int keys)
+    {
+        int actions = 0;
+        for (int key = 0; key < KEYS.length; key++)
+        {
+            if ((keys & (1 << key)) != 0)
+            {
+                actions |= ACTIONS[key];
+            }
+        }
+        return actions;
+    }
+}
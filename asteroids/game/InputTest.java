@@ -0,0 +1,154 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.event.KeyEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the actions that Input makes of key transitions, including when more of them arrive between two ticks than
+ * its queue holds.
+ */
+public class InputTest
+{
+    /** The input under test */
+    private Input input;
+
+    /** Receives the input latencies */
+    private TickProfiler profiler;
+
+    /** The time of the next transition or tick */
+    private long now;
+
+    @BeforeEach
+    public void createInput ()
+    {
+        input = new Input();
+        profiler = new TickProfiler();
+        now = System.nanoTime();
+    }
+
+    /**
+     * Reports that the key went down
+     */
+    private void press (int keyCode)
+    {
+        input.keyChanged(keyCode, true, now++);
+    }
+
+    /**
+     * Reports that the key went up
+     */
+    private void release (int keyCode)
+    {
+        input.keyChanged(keyCode, false, now++);
+    }
+
+    /**
+     * Starts a tick and returns its actions
+     */
+    private int tick ()
+    {
+        return input.nextTick(now++, profiler);
+    }
+
+    /**
+     * Ends the profiler's window and returns the input latencies recorded in it
+     */
+    private Histogram latencies ()
+    {
+        for (int i = 0; i < TickProfiler.WINDOW; i++)
+        {
+            profiler.endTick();
+        }
+        return profiler.getHistogram(TickProfiler.Metric.INPUT);
+    }
+
+    @Test
+    public void heldKeysActOnEveryTick ()
+    {
+        assertEquals(0, tick());
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_SPACE);
+        assertEquals(Input.THRUST | Input.FIRE, tick());
+        assertEquals(Input.THRUST | Input.FIRE, tick());
+        release(KeyEvent.VK_SPACE);
+        assertEquals(Input.THRUST, tick());
+        release(KeyEvent.VK_UP);
+        assertEquals(0, tick());
+    }
+
+    @Test
+    public void aTapBetweenTicksActsOnce ()
+    {
+        press(KeyEvent.VK_LEFT);
+        release(KeyEvent.VK_LEFT);
+        assertEquals(Input.TURN_LEFT, tick());
+        assertEquals(0, tick());
+    }
+
+    @Test
+    public void anActionLastsWhileAnyOfItsKeysIsDown ()
+    {
+        press(KeyEvent.VK_D);
+        press(KeyEvent.VK_RIGHT);
+        release(KeyEvent.VK_D);
+        assertEquals(Input.TURN_RIGHT, tick());
+        release(KeyEvent.VK_RIGHT);
+        assertEquals(0, tick());
+    }
+
+    @Test
+    public void otherKeysAreIgnored ()
+    {
+        press(KeyEvent.VK_Q);
+        press(KeyEvent.VK_ENTER);
+        assertEquals(0, tick());
+        assertEquals(0, latencies().getCount());
+    }
+
+    @Test
+    public void recordsTheLatencyOfEachTransition ()
+    {
+        press(KeyEvent.VK_W);
+        now += 1000;
+        release(KeyEvent.VK_W);
+        now += 2000;
+        tick();
+        Histogram latencies = latencies();
+        assertEquals(2, latencies.getCount());
+        assertEquals(3002, latencies.getMax());
+    }
+
+    @Test
+    public void survivesMoreTransitionsThanItsQueueHolds ()
+    {
+        // Over several ticks, so the queue's indexes wrap around it many times
+        for (int round = 0; round < 10; round++)
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                press(KeyEvent.VK_S);
+                release(KeyEvent.VK_S);
+            }
+            assertEquals(Input.FIRE, tick());
+            assertEquals(0, tick());
+        }
+
+        // The transitions that didn't fit are dropped, so the one waiting after them is the next one
+        press(KeyEvent.VK_A);
+        assertEquals(Input.TURN_LEFT, tick());
+    }
+
+    @Test
+    public void clearForgetsKeysAndWaitingTransitions ()
+    {
+        press(KeyEvent.VK_UP);
+        tick();
+        press(KeyEvent.VK_SPACE);
+        input.clear();
+        assertEquals(0, tick());
+        press(KeyEvent.VK_SPACE);
+        assertEquals(Input.FIRE, tick());
+    }
+}
@@ -0,0 +1,69 @@
+package asteroids.game;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+
+/**
+ * Collects the outlines of a frame into one path per kind of participant (asteroids, debris, bullets, and so on), so
+ * that each kind is drawn with a single call instead of one call per participant. Java2D checks and sets up its
+ * pipeline on every draw, which costs more than the drawing itself when there are thousands of small outlines. The
+ * paths are reset rather than replaced between frames, so their storage is reused.
+ *
+ * A batch must be used on one thread at a time.
+ */
+class OutlineBatch
+{
+    /** The path for each collision matrix type id, or null if that type hasn't been drawn yet */
+    private final Path2D.Double[] paths;
+
+    /** True for the type ids that have something in their path */
+    private final boolean[] used;
+
+    /** Places outlines as they are added */
+    private final AffineTransform trans;
+
+    /**
+     * Creates an empty batch
+     */
+    public OutlineBatch ()
+    {
+        paths = new Path2D.Double[CollisionMatrix.MAX_TYPES];
+        used = new boolean[CollisionMatrix.MAX_TYPES];
+        trans = new AffineTransform();
+    }
+
+    /**
+     * Adds an outline, moved to (x, y) and rotated, to the path for the type id
+     */
+    public void add (int typeId, Shape outline, double x, double y, double rotation)
+    {
+        Path2D.Double path = paths[typeId];
+        if (path == null)
+        {
+            path = new Path2D.Double();
+            paths[typeId] = path;
+        }
+        trans.setToTranslation(x, y);
+        trans.rotate(rotation);
+        path.append(outline.getPathIterator(trans), false);
+        used[typeId] = true;
+    }
+
+    /**
+     * Draws each path that has anything in it with the current color, stroke, and hints, and empties the batch
+     */
+    public void draw (Graphics2D g)
+    {
+        for (int i = 0; i < paths.length; i++)
+        {
+            if (used[i])
+            {
+                g.draw(paths[i]);
+                paths[i].reset();
+                used[i] = false;
+            }
+        }
+    }
+}
@@ -10,11 +10,26 @@ import java.awt.geom.*;
  * is displayed on the screen and can interact with other Participants. An expired Participant is not displayed on the
  * screen, cannot interact with other Participants, and will be removed automatically from the game
  * 
+ * While a Participant is part of a game, its position, velocity, rotation, and flags are kept in the game's
+ * ParticipantStore rather than in the fields below, and the methods that use them go to the store.
+ * 
  * This is an abstract class, so it can be used only by creating a derived class that extends it and implements its
  * abstract methods
  */
 public abstract class Participant
 {
+    /** The store that holds this Participant's state while it is part of a game, or null */
+    private ParticipantStore store;
+
+    /** This Participant's slot in the store */
+    private int slot;
+
+    /** True if this Participant is waiting to be added to a ParticipantState */
+    private boolean pending;
+
+    /** The ParticipantState this Participant has been added to, while it is waiting or in the game, or null */
+    private ParticipantState owner;
+
     /** Speed in pixels per second in the horizontal (x) and vertical (y) directions */
     private double speedX, speedY;
 
@@ -30,12 +45,45 @@ public abstract class Participant
     /** Border of the Participant that is used for drawing */
     private Shape border;
 
+    /** Bounding box of the border, computed each time the Participant moves */
+    private Rectangle2D bounds;
+
+    /** The outline for which the bounding circle below was computed */
+    private Shape circleOutline;
+
+    /** Center of the outline's bounding circle, relative to the outline's own coordinates */
+    private double circleX, circleY;
+
+    /** Radius of a circle that encloses the outline. Rotation doesn't change it, so it is computed once per outline. */
+    private double boundingRadius;
+
+    /** Center of the border's bounding circle, computed each time the Participant moves */
+    private double centerX, centerY;
+
+    /** The translation, and the cosine and sine of the rotation, that turned the outline into the border */
+    private double poseX, poseY, poseCos, poseSin;
+
+    /** The outline broken down for exact collision tests, built when first needed */
+    private CollisionShape collisionShape;
+
+    /** The coordinates of collisionShape transformed to match the border */
+    private double[] collisionPoints;
+
+    /** True if collisionPoints are up to date with the border */
+    private boolean collisionPointsCurrent;
+
     /** True if the Participant is expired */
     private boolean expired;
 
     // True if the Participant is inert (does not interact with any other Participants)
     private boolean isInert;
 
+    /** Identifies the class of this Participant in the collision matrix */
+    private final int typeId;
+
+    /** The countdowns that will call back to this Participant, linked through nextOfParticipant */
+    private ParticipantCountdownTimer timers;
+
     /**
      * Constructs an active Participant with no velocity, rotation, or border.
      */
@@ -47,7 +95,9 @@ public abstract class Participant
         x = 0;
         y = 0;
         border = null;
+        bounds = null;
         expired = false;
+        typeId = CollisionMatrix.typeOf(getClass());
     }
 
     /**
@@ -67,7 +117,14 @@ public abstract class Participant
      */
     public void setInert (boolean b)
     {
-        isInert = b;
+        if (store == null)
+        {
+            isInert = b;
+        }
+        else
+        {
+            store.setFlag(slot, ParticipantStore.INERT, b);
+        }
     }
 
     /**
@@ -76,15 +133,66 @@ public abstract class Participant
      */
     public boolean isInert ()
     {
-        return isInert;
+        return (store == null) ? isInert : (store.flags[slot] & ParticipantStore.INERT) != 0;
     }
 
     /**
-     * Marks this participant as expired
+     * Marks this participant as expired and cancels its countdowns
      */
     private void setExpired ()
     {
-        expired = true;
+        if (isExpired())
+        {
+            return;
+        }
+        if (store == null)
+        {
+            expired = true;
+        }
+        else
+        {
+            store.expire(slot);
+        }
+        if (owner != null)
+        {
+            owner.expired(this);
+        }
+        while (timers != null)
+        {
+            timers.cancel();
+        }
+    }
+
+    /**
+     * Records a countdown that will call back to this participant
+     */
+    void addTimer (ParticipantCountdownTimer t)
+    {
+        t.nextOfParticipant = timers;
+        timers = t;
+    }
+
+    /**
+     * Forgets a countdown that has completed or been cancelled. Does nothing if it isn't recorded.
+     */
+    void removeTimer (ParticipantCountdownTimer t)
+    {
+        if (timers == t)
+        {
+            timers = t.nextOfParticipant;
+        }
+        else
+        {
+            for (ParticipantCountdownTimer prev = timers; prev != null; prev = prev.nextOfParticipant)
+            {
+                if (prev.nextOfParticipant == t)
+                {
+                    prev.nextOfParticipant = t.nextOfParticipant;
+                    break;
+                }
+            }
+        }
+        t.nextOfParticipant = null;
     }
 
     /**
@@ -92,7 +200,132 @@ public abstract class Participant
      */
     public boolean isExpired ()
     {
-        return expired;
+        return (store == null) ? expired : (store.flags[slot] & ParticipantStore.EXPIRED) != 0;
+    }
+
+    /**
+     * Puts this expired Participant, which must not be in a store, back into the state that the constructor leaves it
+     * in, so that it can be used again. The outline caches are kept, since a reused Participant often has the same
+     * outline as before.
+     */
+    void reset ()
+    {
+        if (store != null)
+        {
+            throw new IllegalStateException("Participant is still in the game");
+        }
+        speedX = 0;
+        speedY = 0;
+        rotation = 0;
+        x = 0;
+        y = 0;
+        border = null;
+        bounds = null;
+        collisionPointsCurrent = false;
+        expired = false;
+        isInert = false;
+    }
+
+    /**
+     * Called after this expired Participant has been taken out of the game. A class whose instances are pooled
+     * returns this Participant to its pool here. By default, does nothing.
+     */
+    protected void removed ()
+    {
+    }
+
+    /**
+     * Moves this Participant's state into a slot of the store
+     */
+    void attach (ParticipantStore store, int slot)
+    {
+        store.x[slot] = x;
+        store.y[slot] = y;
+        store.speedX[slot] = speedX;
+        store.speedY[slot] = speedY;
+        store.rotation[slot] = rotation;
+        store.typeId[slot] = typeId;
+        store.flags[slot] = (expired ? ParticipantStore.EXPIRED : 0) | (isInert ? ParticipantStore.INERT : 0);
+        if (bounds != null)
+        {
+            store.place(slot, centerX, centerY, boundingRadius, bounds);
+        }
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns this Participant's slot in its store
+     */
+    int getSlot ()
+    {
+        return slot;
+    }
+
+    /**
+     * Reports whether this Participant is in a store
+     */
+    boolean isAttached ()
+    {
+        return store != null;
+    }
+
+    /**
+     * Returns a handle that identifies this Participant for as long as it stays in the game, or 0 if it isn't in the
+     * game. Unlike a reference, a handle stops working when the Participant leaves the game, even if the object is
+     * later used again for a new participant. See {@link ParticipantState#lookup}.
+     */
+    public long getHandle ()
+    {
+        return (store == null) ? ParticipantStore.NO_HANDLE : store.handleOf(slot);
+    }
+
+    /**
+     * Records the ParticipantState this Participant belongs to, or null if it belongs to none
+     */
+    void setOwner (ParticipantState owner)
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Records whether this Participant is waiting to be added to the game
+     */
+    void setPending (boolean pending)
+    {
+        this.pending = pending;
+    }
+
+    /**
+     * Reports whether this Participant is waiting to be added to the game
+     */
+    boolean isPending ()
+    {
+        return pending;
+    }
+
+    /**
+     * Records that the store has moved this Participant to another slot
+     */
+    void setSlot (int slot)
+    {
+        this.slot = slot;
+    }
+
+    /**
+     * Takes this Participant's state back from the store
+     */
+    void detach ()
+    {
+        x = store.x[slot];
+        y = store.y[slot];
+        speedX = store.speedX[slot];
+        speedY = store.speedY[slot];
+        rotation = store.rotation[slot];
+        expired = (store.flags[slot] & ParticipantStore.EXPIRED) != 0;
+        isInert = (store.flags[slot] & ParticipantStore.INERT) != 0;
+        store = null;
+        owner = null;
     }
 
     /**
@@ -101,8 +334,7 @@ public abstract class Participant
     public void setVelocity (double speed, double direction)
     {
         direction = normalize(direction);
-        speedX = Math.cos(direction) * speed;
-        speedY = Math.sin(direction) * speed;
+        setSpeeds(Math.cos(direction) * speed, Math.sin(direction) * speed);
     }
 
     /**
@@ -112,8 +344,7 @@ public abstract class Participant
     {
         direction = normalize(direction);
         double speed = getSpeed();
-        speedX = Math.cos(direction) * speed;
-        speedY = Math.sin(direction) * speed;
+        setSpeeds(Math.cos(direction) * speed, Math.sin(direction) * speed);
     }
 
     /**
@@ -122,8 +353,7 @@ public abstract class Participant
     public void setSpeed (double speed)
     {
         double direction = getDirection();
-        speedX = Math.cos(direction) * speed;
-        speedY = Math.sin(direction) * speed;
+        setSpeeds(Math.cos(direction) * speed, Math.sin(direction) * speed);
     }
 
     /**
@@ -131,7 +361,7 @@ public abstract class Participant
      */
     public double getDirection ()
     {
-        return normalize(Math.atan2(speedY, speedX));
+        return normalize(Math.atan2(getSpeedY(), getSpeedX()));
     }
 
     /**
@@ -139,7 +369,42 @@ public abstract class Participant
      */
     public double getSpeed ()
     {
-        return Math.sqrt(speedX * speedX + speedY * speedY);
+        double sx = getSpeedX();
+        double sy = getSpeedY();
+        return Math.sqrt(sx * sx + sy * sy);
+    }
+
+    /**
+     * Returns the horizontal speed
+     */
+    private double getSpeedX ()
+    {
+        return (store == null) ? speedX : store.speedX[slot];
+    }
+
+    /**
+     * Returns the vertical speed
+     */
+    private double getSpeedY ()
+    {
+        return (store == null) ? speedY : store.speedY[slot];
+    }
+
+    /**
+     * Sets the horizontal and vertical speeds
+     */
+    private void setSpeeds (double sx, double sy)
+    {
+        if (store == null)
+        {
+            speedX = sx;
+            speedY = sy;
+        }
+        else
+        {
+            store.speedX[slot] = sx;
+            store.speedY[slot] = sy;
+        }
     }
 
     /**
@@ -147,7 +412,14 @@ public abstract class Participant
      */
     public void setRotation (double radians)
     {
-        rotation = normalize(radians);
+        if (store == null)
+        {
+            rotation = normalize(radians);
+        }
+        else
+        {
+            store.rotation[slot] = normalize(radians);
+        }
     }
 
     /**
@@ -155,7 +427,7 @@ public abstract class Participant
      */
     public void rotate (double delta)
     {
-        rotation = normalize(rotation + delta);
+        setRotation(getRotation() + delta);
     }
 
     /**
@@ -163,7 +435,7 @@ public abstract class Participant
      */
     public double getRotation ()
     {
-        return rotation;
+        return (store == null) ? rotation : store.rotation[slot];
     }
 
     /**
@@ -189,15 +461,14 @@ public abstract class Participant
     public void accelerate (double delta)
     {
         // Compute new speeds
-        speedX += delta * Math.cos(rotation);
-        speedY += delta * Math.sin(rotation);
+        double rotation = getRotation();
+        setSpeeds(getSpeedX() + delta * Math.cos(rotation), getSpeedY() + delta * Math.sin(rotation));
 
         // Enforce the speed limit
         if (getSpeed() > SPEED_LIMIT)
         {
             double direction = getDirection();
-            speedX = SPEED_LIMIT * Math.cos(direction);
-            speedY = SPEED_LIMIT * Math.sin(direction);
+            setSpeeds(SPEED_LIMIT * Math.cos(direction), SPEED_LIMIT * Math.sin(direction));
         }
     }
 
@@ -206,13 +477,15 @@ public abstract class Participant
      */
     public void applyFriction (double coefficientOfFriction)
     {
+        double speedX = getSpeedX();
+        double speedY = getSpeedY();
         if (speedX != 0 || speedY != 0)
         {
             double speed = getSpeed();
             double deltaX = coefficientOfFriction * speedX / speed;
             double deltaY = coefficientOfFriction * speedY / speed;
-            speedX = (Math.abs(deltaX) > Math.abs(speedX)) ? 0 : (speedX + deltaX);
-            speedY = (Math.abs(deltaY) > Math.abs(speedY)) ? 0 : (speedY + deltaY);
+            setSpeeds((Math.abs(deltaX) > Math.abs(speedX)) ? 0 : (speedX + deltaX),
+                    (Math.abs(deltaY) > Math.abs(speedY)) ? 0 : (speedY + deltaY));
         }
     }
 
@@ -221,8 +494,16 @@ public abstract class Participant
      */
     public void setPosition (double x, double y)
     {
-        this.x = x;
-        this.y = y;
+        if (store == null)
+        {
+            this.x = x;
+            this.y = y;
+        }
+        else
+        {
+            store.x[slot] = x;
+            store.y[slot] = y;
+        }
     }
 
     /**
@@ -230,7 +511,7 @@ public abstract class Participant
      */
     public double getX ()
     {
-        return x;
+        return (store == null) ? x : store.x[slot];
     }
 
     /**
@@ -238,7 +519,7 @@ public abstract class Participant
      */
     public double getY ()
     {
-        return y;
+        return (store == null) ? y : store.y[slot];
     }
 
     /**
@@ -250,39 +531,93 @@ public abstract class Participant
     protected abstract Shape getOutline ();
 
     /**
-     * Takes the appropriate action for a collision of this Participant with p.
+     * Takes the appropriate action for a collision of this Participant with p. This is called only if this Participant
+     * reactsTo the class of p.
      */
     public abstract void collidedWith (Participant p);
 
+    /**
+     * Reports whether this Participant reacts to colliding with Participants of the given class. Pairs of Participants
+     * neither of which reacts to the other are never tested for overlap. The answer must depend only on the class, not
+     * on the state of this Participant, because it is asked once per pair of classes and then remembered. By default, a
+     * Participant reacts to everything.
+     */
+    protected boolean reactsTo (Class<? extends Participant> type)
+    {
+        return true;
+    }
+
+    /**
+     * Returns the id of this Participant's class in the collision matrix
+     */
+    int getTypeId ()
+    {
+        return typeId;
+    }
+
     /**
      * This method is called when a {@link asteroids.game.ParticipantCountdownTimer} that was constructed for this
      * Participant completes its countdown, so long as this Participant is not expired. The method should take
-     * appropriate action.
+     * appropriate action. Countdowns are cancelled when their Participant expires.
      */
     public void countdownComplete (Object payload)
     {
     }
 
     /**
-     * Moves this participant to reflect one tick of the clock.
+     * Returns the length of the current tick as a fraction of FRAME_INTERVAL. Speeds are in pixels per FRAME_INTERVAL
+     * and are scaled automatically, but a participant that changes something by a fixed amount each tick (such as a
+     * turn or a push) should multiply the amount by this.
      */
-    public void move ()
+    protected static double getTimeScale ()
+    {
+        return TimingWheel.current().getClock().getTimeScale();
+    }
+
+    /**
+     * Called at the start of each move, before the position changes. A ParticipantState calls this for all of its
+     * participants, then changes all of their positions at once, then places each of them. By default, does nothing.
+     */
+    protected void beforeMove ()
+    {
+    }
+
+    /**
+     * Moves the border, bounding circle, and bounding box to the current position and rotation. If the participant has
+     * gone sufficiently far out of bounds, changes its position so that it will reappear on the other side.
+     */
+    void place ()
     {
         // Get the original outline
         Shape original = getOutline();
-
-        // Change the position to reflect participant motion
-        x += speedX;
-        y += speedY;
+        double x = getX();
+        double y = getY();
 
         // Translate and rotate the original to reflect the accumulated motion
         AffineTransform trans = AffineTransform.getTranslateInstance(x, y);
-        trans.concatenate(AffineTransform.getRotateInstance(rotation));
+        trans.concatenate(AffineTransform.getRotateInstance(getRotation()));
         border = trans.createTransformedShape(original);
 
+        // Move the bounding circle along with the border
+        if (original != circleOutline)
+        {
+            computeBoundingCircle(original);
+        }
+        poseX = trans.getTranslateX();
+        poseY = trans.getTranslateY();
+        poseCos = trans.getScaleX();
+        poseSin = trans.getShearY();
+        centerX = poseX + poseCos * circleX - poseSin * circleY;
+        centerY = poseY + poseSin * circleX + poseCos * circleY;
+        collisionPointsCurrent = false;
+
         // If the element has gone sufficiently far out of bounds, move it to
         // the other side of the screen. This change will take effect next time.
-        Rectangle2D bounds = border.getBounds2D();
+        bounds = border.getBounds2D();
+        if (store != null)
+        {
+            store.place(slot, centerX, centerY, boundingRadius, bounds);
+        }
         if (bounds.getMaxX() < 0)
         {
             x += SIZE + (bounds.getMaxX() - bounds.getMinX());
@@ -299,6 +634,7 @@ public abstract class Participant
         {
             y += -SIZE - (bounds.getMaxY() - bounds.getMinY());
         }
+        setPosition(x, y);
     }
 
     /**
@@ -308,32 +644,227 @@ public abstract class Participant
      */
     public void transformPoint (Point2D.Double point)
     {
-        AffineTransform trans = AffineTransform.getTranslateInstance(x, y);
-        trans.concatenate(AffineTransform.getRotateInstance(rotation));
+        AffineTransform trans = AffineTransform.getTranslateInstance(getX(), getY());
+        trans.concatenate(AffineTransform.getRotateInstance(getRotation()));
         trans.transform(point, point);
     }
 
     /**
-     * Reports whether this participant overlaps with p.
+     * Returns the bounding box of this participant's border as of its last move, or null if it has not yet moved. The
+     * returned rectangle must not be modified.
+     */
+    public Rectangle2D getBounds ()
+    {
+        return bounds;
+    }
+
+    /**
+     * Finds a circle that encloses the outline. The center of the outline's bounding box is used as the center, and the
+     * radius is the distance to the farthest point of the path (including curve control points, whose hull contains the
+     * curves).
+     */
+    private void computeBoundingCircle (Shape outline)
+    {
+        Rectangle2D box = outline.getBounds2D();
+        circleX = box.getCenterX();
+        circleY = box.getCenterY();
+        double farthest = 0;
+        double[] coords = new double[6];
+        for (PathIterator iter = outline.getPathIterator(null); !iter.isDone(); iter.next())
+        {
+            int points;
+            switch (iter.currentSegment(coords))
+            {
+                case PathIterator.SEG_MOVETO:
+                case PathIterator.SEG_LINETO:
+                    points = 1;
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    points = 2;
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    points = 3;
+                    break;
+                default:
+                    points = 0;
+            }
+            for (int i = 0; i < points; i++)
+            {
+                double dx = coords[2 * i] - circleX;
+                double dy = coords[2 * i + 1] - circleY;
+                farthest = Math.max(farthest, dx * dx + dy * dy);
+            }
+        }
+        boundingRadius = Math.sqrt(farthest);
+        circleOutline = outline;
+    }
+
+    /**
+     * Reports whether this participant overlaps with p. The exact (and expensive) test is made only if the bounding
+     * circles and bounding boxes of the two participants overlap.
      */
     public boolean overlaps (Participant p)
+    {
+        return circlesOverlap(p) && boundsOverlap(p) && shapesOverlap(p);
+    }
+
+    /**
+     * Reports whether the bounding circles of this participant and p overlap. If they don't, neither do the
+     * participants.
+     */
+    boolean circlesOverlap (Participant p)
+    {
+        double dx = centerX - p.centerX;
+        double dy = centerY - p.centerY;
+        double reach = boundingRadius + p.boundingRadius;
+        return dx * dx + dy * dy <= reach * reach;
+    }
+
+    /**
+     * Reports whether the bounding boxes of this participant and p overlap. If they don't, neither do the participants.
+     */
+    boolean boundsOverlap (Participant p)
+    {
+        return bounds.intersects(p.bounds);
+    }
+
+    /**
+     * Reports whether the borders of this participant and p have any area in common. This is the exact test. It is made
+     * on the triangles (or circles) that make up the two outlines, unless one of them couldn't be broken down that way.
+     */
+    boolean shapesOverlap (Participant p)
+    {
+        CollisionShape mine = getCollisionShape();
+        CollisionShape theirs = p.getCollisionShape();
+        if (!mine.isExact() || !theirs.isExact())
+        {
+            return areasOverlap(p);
+        }
+        return CollisionShape.overlaps(mine, getCollisionPoints(), theirs, p.getCollisionPoints());
+    }
+
+    /**
+     * Reports whether the borders of this participant and p have any area in common, using java.awt.geom.Area. This is
+     * slow and allocates heavily; it is used for outlines that CollisionShape can't handle and to check its results.
+     */
+    boolean areasOverlap (Participant p)
     {
         Area a = new Area(border);
         a.intersect(new Area(p.border));
-        return !a.isEmpty();
+        return CollisionShape.hasArea(a);
+    }
+
+    /**
+     * Returns the collision shape for the outline that was used to make the border, building it if necessary
+     */
+    private CollisionShape getCollisionShape ()
+    {
+        if (collisionShape == null || collisionShape.getOutline() != circleOutline)
+        {
+            collisionShape = new CollisionShape(circleOutline);
+            if (collisionPoints == null || collisionPoints.length < collisionShape.getPointCount())
+            {
+                collisionPoints = new double[collisionShape.getPointCount()];
+            }
+            collisionPointsCurrent = false;
+        }
+        return collisionShape;
     }
 
     /**
-     * Draws this participant
+     * Returns the coordinates of the collision shape, transformed to match the border
+     */
+    private double[] getCollisionPoints ()
+    {
+        if (!collisionPointsCurrent)
+        {
+            collisionShape.transform(poseX, poseY, poseCos, poseSin, collisionPoints);
+            collisionPointsCurrent = true;
+        }
+        return collisionPoints;
+    }
+
+    /**
+     * Draws this participant where it is now
      */
     public void draw (Graphics2D g)
     {
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        if (border == null)
+        draw(g, 1);
+    }
+
+    /**
+     * Draws this participant the fraction alpha (from 0 to 1) of the way from where it was at the end of the tick
+     * before the latest one to where it is now, so that the display can run faster than the simulation. The rendering
+     * hints are left to the caller, which sets them once for the whole frame. A subclass that draws more than its
+     * outline should override this method and place what it draws with getPose.
+     */
+    public void draw (Graphics2D g, double alpha)
+    {
+        AffineTransform trans = getPose(alpha);
+        g.draw(trans.createTransformedShape(getOutline()));
+        Shape effect = getEffectOutline();
+        if (effect != null)
+        {
+            g.draw(trans.createTransformedShape(effect));
+        }
+    }
+
+    /**
+     * Returns the outline of something drawn along with this participant for the current frame, such as a flame, or
+     * null if there is nothing. It is placed like the outline but takes no part in collisions. This is called once
+     * each time the participant is drawn, so the effect can flicker. By default, returns null.
+     */
+    protected Shape getEffectOutline ()
+    {
+        return null;
+    }
+
+    /**
+     * Returns the transform that puts the outline the fraction alpha of the way from where it was at the end of the
+     * tick before the latest one to where it is now. A participant that isn't in the game, or that wrapped around the
+     * edge of the screen during the latest tick, is put where it is now.
+     */
+    protected AffineTransform getPose (double alpha)
+    {
+        double[] pose = new double[3];
+        pose(alpha, pose);
+        AffineTransform trans = AffineTransform.getTranslateInstance(pose[0], pose[1]);
+        trans.rotate(pose[2]);
+        return trans;
+    }
+
+    /**
+     * Puts the x-coordinate, y-coordinate, and rotation that getPose uses into the first three elements of pose
+     */
+    void pose (double alpha, double[] pose)
+    {
+        double x = getX();
+        double y = getY();
+        double rotation = getRotation();
+        if (store != null && alpha < 1)
         {
-            border = getOutline();
+            double dx = x - store.fromX[slot];
+            double dy = y - store.fromY[slot];
+            if (Math.abs(dx) < SIZE / 2 && Math.abs(dy) < SIZE / 2)
+            {
+                // Turn the short way around
+                double turn = rotation - store.fromRotation[slot];
+                if (turn > Math.PI)
+                {
+                    turn -= 2 * Math.PI;
+                }
+                else if (turn < -Math.PI)
+                {
+                    turn += 2 * Math.PI;
+                }
+                double back = 1 - alpha;
+                x -= back * dx;
+                y -= back * dy;
+                rotation -= back * turn;
+            }
         }
-        g.draw(border);
+        pose[0] = x;
+        pose[1] = y;
+        pose[2] = rotation;
     }
 }
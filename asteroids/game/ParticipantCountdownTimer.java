@@ -1,23 +1,42 @@
 package asteroids.game;
 
-import javax.swing.*;
-import java.awt.event.*;
-
 /**
  * Provides objects that wait for a certain amount of time to pass before making a callback to a Participant's
  * countdownComplete method.
+ *
+ * The time is measured in ticks of the game clock on the current thread's TimingWheel, so a countdown completes during a call
+ * to ParticipantState.moveParticipants rather than on its own Swing timer. A countdown is cancelled automatically when
+ * its Participant expires.
  */
-public class ParticipantCountdownTimer implements ActionListener
+public class ParticipantCountdownTimer
 {
+    /** Value of slot when the countdown isn't on the wheel */
+    static final int UNSCHEDULED = -1;
+
+    /** Value of slot when the countdown is in the wheel's firing list */
+    static final int FIRING = -2;
+
     /** Payload that is passed to the countdownComplete method when it is called */
     private Object payload;
 
-    /** Internal timer */
-    private Timer timer;
-
     /** Participant to be notified when time expires */
     private Participant participant;
 
+    /** The next countdown belonging to the same participant */
+    ParticipantCountdownTimer nextOfParticipant;
+
+    /** The wheel on which the countdown was scheduled */
+    TimingWheel wheel;
+
+    /** The wheel slot that holds the countdown, or UNSCHEDULED or FIRING */
+    int slot;
+
+    /** The number of full turns of the wheel still to go */
+    int rounds;
+
+    /** Neighbors in the wheel slot */
+    ParticipantCountdownTimer prev, next;
+
     /**
      * Constructs an object that waits for the given number of milliseconds to pass before invoking the
      * countdownComplete method on p, passing null as its parameter. The call is not made if p has expired.
@@ -35,17 +54,43 @@ public class ParticipantCountdownTimer implements ActionListener
     {
         this.participant = p;
         this.payload = payload;
-        timer = new Timer(msecs, this);
-        timer.start();
+        slot = UNSCHEDULED;
+        restart(msecs);
+    }
+
+    /**
+     * Starts the countdown over with a new duration, stopping it first if it is running. This lets a participant that
+     * is used again reuse its countdown. The call is not made if the participant has expired.
+     */
+    public void restart (int msecs)
+    {
+        cancel();
+        if (!participant.isExpired())
+        {
+            participant.addTimer(this);
+            TimingWheel current = TimingWheel.current();
+            current.schedule(this, current.ticksFor(msecs));
+        }
+    }
+
+    /**
+     * Stops the countdown without making the callback.
+     */
+    public void cancel ()
+    {
+        if (wheel != null)
+        {
+            wheel.cancel(this);
+        }
+        participant.removeTimer(this);
     }
 
     /**
-     * When the interval has passed, stops the timer and makes the callback, as long as the participant has not expired.
+     * When the interval has passed, makes the callback, as long as the participant has not expired.
      */
-    @Override
-    public void actionPerformed (ActionEvent e)
+    void complete ()
     {
-        timer.stop();
+        participant.removeTimer(this);
         if (!participant.isExpired())
         {
             participant.countdownComplete(payload);
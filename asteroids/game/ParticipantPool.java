@@ -0,0 +1,127 @@
+package asteroids.game;
+
+/**
+ * Keeps participants that have been taken out of the game so that they can be used again instead of being replaced by
+ * new objects. A pooled class returns its instances to the pool from Participant.removed, and its factory method asks
+ * the pool for an instance before constructing one. A returned participant has been reset to the state that the
+ * Participant constructor leaves it in, except that its outline caches are kept.
+ *
+ * A pool is not thread-safe. Pooled classes keep one pool per thread, just as each thread has its own TimingWheel.
+ */
+public class ParticipantPool<T extends Participant>
+{
+    /** The participants that are ready to be used again */
+    private Participant[] free;
+
+    /** The number of participants in free */
+    private int count;
+
+    /** The number of requests that were answered with a pooled participant */
+    private long hits;
+
+    /** The number of requests that found the pool empty */
+    private long misses;
+
+    /** The number of participants that were returned to the pool */
+    private long recycled;
+
+    /** The number of participants that were turned away because the pool was full */
+    private long discarded;
+
+    /**
+     * Creates an empty pool that will hold at most capacity participants.
+     */
+    public ParticipantPool (int capacity)
+    {
+        free = new Participant[capacity];
+    }
+
+    /**
+     * Returns a participant from the pool, or null if the pool is empty. The caller must set the participant up as its
+     * constructor would.
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain ()
+    {
+        if (count == 0)
+        {
+            misses++;
+            return null;
+        }
+        hits++;
+        T p = (T) free[--count];
+        free[count] = null;
+        return p;
+    }
+
+    /**
+     * Resets an expired participant that has been taken out of the game and keeps it for later use, unless the pool is
+     * full.
+     */
+    public void recycle (T p)
+    {
+        if (count == free.length)
+        {
+            discarded++;
+            return;
+        }
+        p.reset();
+        free[count++] = p;
+        recycled++;
+    }
+
+    /**
+     * Returns the most participants that the pool will hold
+     */
+    public int getCapacity ()
+    {
+        return free.length;
+    }
+
+    /**
+     * Returns the number of participants in the pool
+     */
+    public int getFree ()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the number of requests that were answered with a pooled participant
+     */
+    public long getHits ()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that found the pool empty
+     */
+    public long getMisses ()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns the number of participants that were returned to the pool
+     */
+    public long getRecycled ()
+    {
+        return recycled;
+    }
+
+    /**
+     * Returns the number of participants that were turned away because the pool was full
+     */
+    public long getDiscarded ()
+    {
+        return discarded;
+    }
+
+    @Override
+    public String toString ()
+    {
+        return "free=" + count + "/" + free.length + " hits=" + hits + " misses=" + misses + " recycled=" + recycled
+                + " discarded=" + discarded;
+    }
+}
@@ -1,43 +1,90 @@
 package asteroids.game;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 /**
  * Keeps track of the Participants, their motions, and their collisions.
  */
 public class ParticipantState implements Iterable<Participant>
 {
-    /** The participants (asteroids, ships, etc.) that are involved in the game */
-    private LinkedList<Participant> participants;
+    /** The participants (asteroids, ships, etc.) that are involved in the game, with their state in parallel arrays */
+    private ParticipantStore participants;
 
-    /** Participants that are waiting to be added to the game */
-    private Set<Participant> pendingAdds;
+    /** Participants that are waiting to be added to the game, in the order in which they were added */
+    private Participant[] pendingAdds;
+
+    /** The number of entries in pendingAdds */
+    private int pendingCount;
+
+    /** The number of unexpired participants, waiting or in the game, of each type (by collision matrix type id) */
+    private int[] counts;
+
+    /** The number of unexpired participants, waiting or in the game */
+    private int live;
+
+    /** The clock that measures game time, advanced one tick per move */
+    private GameClock clock;
+
+    /** Runs the countdowns of the participants, one slot per tick */
+    private TimingWheel timers;
+
+    /** Records which types of participants can react to colliding with which others */
+    private CollisionMatrix matrix;
+
+    /** Broad phase used to find the pairs of participants that might be colliding */
+    private CollisionGrid grid;
+
+    /** The slots of the participants that can interact, in order, found at the start of each collision check */
+    private int[] ordered;
+
+    /** How the pairs examined by the latest collision check were disposed of */
+    private CollisionStats stats;
+
+    /** Records how long each phase of a move takes */
+    private TickProfiler profiler;
 
     /**
-     * Creates an empty ParticipantState.
+     * Creates an empty ParticipantState whose ticks are FRAME_INTERVAL milliseconds of game time.
      */
     public ParticipantState ()
+    {
+        this(new SimulationClock());
+    }
+
+    /**
+     * Creates an empty ParticipantState that keeps time with the clock. Its timing wheel becomes the current one for
+     * this thread, so countdowns created from now on will run as it moves its participants.
+     */
+    public ParticipantState (GameClock clock)
     {
         // No participants at the start
-        participants = new LinkedList<Participant>();
-        pendingAdds = new HashSet<Participant>();
+        participants = new ParticipantStore();
+        pendingAdds = new Participant[16];
+        counts = new int[CollisionMatrix.MAX_TYPES];
+        this.clock = clock;
+        timers = new TimingWheel(clock);
+        TimingWheel.install(timers);
+        matrix = new CollisionMatrix();
+        grid = new CollisionGrid();
+        ordered = new int[16];
+        stats = new CollisionStats();
+        profiler = new TickProfiler();
     }
 
     /**
-     * Clears out the state.
+     * Clears out the state, including any countdowns that are still running. The participants are all expired at
+     * once, and they are taken out of the store at the end of the next move.
      */
     public void clear ()
     {
-        pendingAdds.clear();
-        for (Participant p : participants)
+        clearPendingAdds();
+        for (int i = 0; i < participants.size(); i++)
         {
-            Participant.expire(p);
+            Participant.expire(participants.get(i));
         }
-        participants.clear();
+        timers.clear();
     }
 
     /**
@@ -45,7 +92,76 @@ public class ParticipantState implements Iterable<Participant>
      */
     public void addParticipant (Participant p)
     {
-        pendingAdds.add(p);
+        // Adding a participant that is already waiting or already in the game does nothing
+        if (p.isPending() || p.isAttached())
+        {
+            return;
+        }
+        if (pendingCount == pendingAdds.length)
+        {
+            pendingAdds = Arrays.copyOf(pendingAdds, 2 * pendingCount);
+        }
+        p.setPending(true);
+        pendingAdds[pendingCount++] = p;
+
+        p.setOwner(this);
+        if (!p.isExpired())
+        {
+            counts[p.getTypeId()]++;
+            live++;
+        }
+    }
+
+    /**
+     * Called when a participant that belongs to this state expires
+     */
+    void expired (Participant p)
+    {
+        counts[p.getTypeId()]--;
+        live--;
+    }
+
+    /**
+     * Returns the number of unexpired participants, waiting or in the game, whose class is exactly the given one. This
+     * takes constant time.
+     */
+    public int getCount (Class<? extends Participant> type)
+    {
+        return counts[CollisionMatrix.typeOf(type)];
+    }
+
+    /**
+     * Returns the number of unexpired participants, waiting or in the game
+     */
+    public int getCount ()
+    {
+        return live;
+    }
+
+    /**
+     * Returns the participant in the game with the handle, or null if it is no longer in the game. See
+     * {@link Participant#getHandle}.
+     */
+    public Participant lookup (long handle)
+    {
+        return participants.get(handle);
+    }
+
+    /**
+     * Expires and forgets the participants that are waiting to be added, telling each that it has been removed
+     */
+    private void clearPendingAdds ()
+    {
+        for (int i = 0; i < pendingCount; i++)
+        {
+            Participant p = pendingAdds[i];
+            pendingAdds[i] = null;
+            Participant.expire(p);
+            p.setOwner(null);
+            p.setPending(false);
+            p.removed();
+        }
+        pendingCount = 0;
     }
 
     /**
@@ -53,77 +169,171 @@ public class ParticipantState implements Iterable<Participant>
      */
     public void moveParticipants ()
     {
-        // Move all of the active participants
-        for (Participant p : participants)
+        long start = System.nanoTime();
+        profiler.record(TickProfiler.Metric.PARTICIPANTS, live);
+
+        // Advance the clock and the countdowns by one tick. This may add participants or expire them.
+        clock.tick();
+        TimingWheel.install(timers);
+        timers.advance();
+
+        // Move all of the active participants: first let each prepare, then change all of the positions in one pass
+        // over the store, then place each border
+        int count = participants.size();
+        for (int i = 0; i < count; i++)
+        {
+            Participant p = participants.get(i);
+            if (!p.isExpired())
+            {
+                p.beforeMove();
+            }
+        }
+        participants.integrate(clock.getTimeScale());
+        for (int i = 0; i < count; i++)
         {
+            Participant p = participants.get(i);
             if (!p.isExpired())
             {
-                p.move();
+                p.place();
             }
         }
 
         // If there have been any collisions, deal with them. This may result
         // in new participants being added or old ones expiring. We save those
         // changes until after all of the collisions have been processed.
+        long moved = System.nanoTime();
         checkForCollisions();
+        profiler.record(TickProfiler.Metric.PAIRS, stats.getTypeRejects() + stats.getPairsTested());
 
         // Deal with pending adds and expirations
+        long collided = System.nanoTime();
         completeAddsAndRemoves();
+        participants.savePoses();
+        long done = System.nanoTime();
+
+        profiler.record(TickProfiler.Metric.MOVE, moved - start);
+        profiler.record(TickProfiler.Metric.COLLIDE, collided - moved);
+        profiler.record(TickProfiler.Metric.ADDS_REMOVES, done - collided);
     }
 
     /**
      * Completes any adds and removes that have been requested.
      */
-    private void completeAddsAndRemoves ()
+    void completeAddsAndRemoves ()
     {
         // Note: These updates are saved up and done later to avoid modifying
-        // the participants list while it is being iterated over
-        for (Participant p : pendingAdds)
-        {
-            participants.add(p);
-        }
-        pendingAdds.clear();
-
-        Iterator<Participant> iter = participants.iterator();
-        while (iter.hasNext())
+        // the store while it is being iterated over
+        for (int i = 0; i < pendingCount; i++)
         {
-            Participant p = iter.next();
-            if (p.isExpired())
+            Participant p = pendingAdds[i];
+            pendingAdds[i] = null;
+            p.setPending(false);
+            if (!p.isExpired())
             {
-                iter.remove();
+                participants.add(p);
+            }
+            else
+            {
+                // It expired before it could be added, so it leaves without ever entering the store
+                p.setOwner(null);
+                p.removed();
             }
         }
+        pendingCount = 0;
+
+        participants.removeExpired();
     }
 
     /**
      * Compares each pair of elements to detect collisions, then notifies all listeners of any found. Deals with each
      * pair only once. Never deals with (p1,p2) and then again with (p2,p1).
+     * 
+     * Participants whose types can't interact with any of the types present are left out entirely. Of the rest, only
+     * pairs that share a cell of the collision grid and whose types can interact are compared. For each p1, the
+     * candidates are visited from the end of the list back toward p1, just as they would be by a full scan, and the
+     * scan stops as soon as p1 expires. A colliding pair is dealt with by the collision matrix's handler for its pair
+     * of types, which notifies each participant only if its type reacts to the other's.
      */
-    private void checkForCollisions ()
+    void checkForCollisions ()
     {
-        for (Participant p1 : participants)
+        // Nothing enters or leaves the store until the collisions have been processed (clearing the state only expires
+        // the participants), so the slots stay put while collisions are handled.
+        int count = participants.size();
+        int[] flags = participants.flags;
+        int[] types = participants.typeId;
+
+        // Drop the participants that can't interact with anything present
+        long present = matrix.prepare(participants.participants, count);
+        if (ordered.length < count)
+        {
+            ordered = new int[2 * count];
+        }
+        int active = 0;
+        for (int i = 0; i < count; i++)
         {
-            if (!p1.isExpired() && !p1.isInert())
+            if (matrix.interactsWithAny(types[i], present))
             {
-                Iterator<Participant> iter = participants.descendingIterator();
-                while (iter.hasNext())
+                ordered[active++] = i;
+            }
+        }
+
+        grid.build(participants, ordered, active);
+        stats.reset();
+
+        int unavailable = ParticipantStore.EXPIRED | ParticipantStore.INERT;
+        for (int i = 0; i < active; i++)
+        {
+            int s1 = ordered[i];
+            if ((flags[s1] & unavailable) == 0)
+            {
+                int found = grid.collect(i);
+                for (int k = 0; k < found; k++)
                 {
-                    Participant p2 = iter.next();
-                    if (p1 == p2)
-                        break;
-                    if (!p2.isExpired() && !p2.isInert() && p1.overlaps(p2))
+                    int s2 = ordered[grid.getCandidate(k)];
+                    if ((flags[s2] & unavailable) == 0)
                     {
-                        p1.collidedWith(p2);
-                        p2.collidedWith(p1);
+                        int a = types[s1];
+                        int b = types[s2];
+                        if (!matrix.interacts(a, b))
+                        {
+                            stats.typeRejected();
+                        }
+                        else if (stats.overlaps(participants, s1, s2))
+                        {
+                            matrix.handler(a, b).collided(participants.get(s1), participants.get(s2));
+                        }
                     }
-                    if (p1.isExpired())
+                    if ((flags[s1] & ParticipantStore.EXPIRED) != 0)
                         break;
                 }
             }
         }
     }
-    
-    
+
+    /**
+     * Returns the clock that measures game time
+     */
+    public GameClock getClock ()
+    {
+        return clock;
+    }
+
+    /**
+     * Returns the profiler that times the phases of each move
+     */
+    public TickProfiler getProfiler ()
+    {
+        return profiler;
+    }
+
+    /**
+     * Returns the counts of pair tests made during the most recent collision check.
+     */
+    public CollisionStats getCollisionStats ()
+    {
+        return stats;
+    }
+
     /**
      * Returns an Iterator that makes it possible to iterate through all the unexpired participants via an enhanced for loop, as in
      * 
@@ -146,11 +356,11 @@ public class ParticipantState implements Iterable<Participant>
      */
     private class ParticipantIterator implements Iterator<Participant>
     {
-        /** An iterator over the participants */
-        private Iterator<Participant> participantsIter;
+        /** The slot of the next participant in the store to be looked at */
+        private int slot;
         
-        /** An iterator over the pendingAdds */
-        private Iterator<Participant> pendingsIter;
+        /** The index of the next participant in pendingAdds to be looked at */
+        private int pending;
         
         /** If non-null, the next object to be returned by the next() method */
         private Participant saved;
@@ -160,8 +370,8 @@ public class ParticipantState implements Iterable<Participant>
          */
         public ParticipantIterator ()
         {
-            participantsIter = participants.iterator();
-            pendingsIter = pendingAdds.iterator();
+            slot = 0;
+            pending = 0;
             saved = null;
         }
         
@@ -173,9 +383,9 @@ public class ParticipantState implements Iterable<Participant>
                 return true;
             }
             
-            while (participantsIter.hasNext())
+            while (slot < participants.size())
             {
-                Participant p = participantsIter.next();
+                Participant p = participants.get(slot++);
                 if (!p.isExpired())
                 {
                     saved = p;
@@ -183,9 +393,9 @@ public class ParticipantState implements Iterable<Participant>
                 }
             }
             
-            while (pendingsIter.hasNext())
+            while (pending < pendingCount)
             {
-                Participant p = pendingsIter.next();
+                Participant p = pendingAdds[pending++];
                 if (!p.isExpired())
                 {
                     saved = p;
@@ -206,18 +416,18 @@ public class ParticipantState implements Iterable<Participant>
                 return p;
             }
             
-            while (participantsIter.hasNext())
+            while (slot < participants.size())
             {
-                Participant p = participantsIter.next();
+                Participant p = participants.get(slot++);
                 if (!p.isExpired())
                 {
                     return p;
                 }
             }
             
-            while (pendingsIter.hasNext())
+            while (pending < pendingCount)
             {
-                Participant p = pendingsIter.next();
+                Participant p = pendingAdds[pending++];
                 if (!p.isExpired())
                 {
                     return p;
@@ -0,0 +1,105 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import asteroids.participants.Bullet;
+
+/**
+ * Checks that every participant that leaves a ParticipantState is told it has been removed exactly once, whether it
+ * was in the game or still waiting to be added, so that pooled participants always return to their pools.
+ */
+public class ParticipantStateTest
+{
+    /** The state under test */
+    private ParticipantState state;
+
+    @BeforeEach
+    public void createState ()
+    {
+        state = new ParticipantState();
+    }
+
+    @Test
+    public void participantsInTheGameAreRemoved ()
+    {
+        TestParticipant p = new TestParticipant();
+        state.addParticipant(p);
+        state.completeAddsAndRemoves();
+        assertEquals(1, state.getCount());
+        Participant.expire(p);
+        state.completeAddsAndRemoves();
+        assertEquals(1, p.removals);
+        assertEquals(0, state.getCount());
+    }
+
+    @Test
+    public void participantsThatExpireWhileWaitingAreRemoved ()
+    {
+        TestParticipant p = new TestParticipant();
+        state.addParticipant(p);
+        Participant.expire(p);
+        assertEquals(0, state.getCount(TestParticipant.class));
+        state.completeAddsAndRemoves();
+        assertEquals(1, p.removals);
+        assertFalse(p.isAttached());
+        state.completeAddsAndRemoves();
+        assertEquals(1, p.removals);
+    }
+
+    @Test
+    public void clearingRemovesParticipantsThatAreWaiting ()
+    {
+        TestParticipant waiting = new TestParticipant();
+        TestParticipant expired = new TestParticipant();
+        TestParticipant playing = new TestParticipant();
+        state.addParticipant(playing);
+        state.completeAddsAndRemoves();
+        state.addParticipant(waiting);
+        state.addParticipant(expired);
+        Participant.expire(expired);
+
+        state.clear();
+        assertEquals(1, waiting.removals);
+        assertTrue(waiting.isExpired());
+        assertEquals(1, expired.removals);
+        assertEquals(0, state.getCount());
+        assertEquals(0, state.getCount(TestParticipant.class));
+
+        // The participants in the game leave at the end of the next move, and the others don't leave again
+        state.completeAddsAndRemoves();
+        assertEquals(1, playing.removals);
+        assertEquals(1, waiting.removals);
+        assertEquals(1, expired.removals);
+        assertFalse(state.iterator().hasNext());
+    }
+
+    @Test
+    public void pooledParticipantsGoBackToTheirPoolWhicheverWayTheyLeave ()
+    {
+        // Start from an empty pool, so that the next bullet created is the last one returned to it
+        while (Bullet.getPool().obtain() != null)
+        {
+        }
+
+        // Expired in the game
+        Bullet b = Bullet.create(100, 100, 1, 0);
+        state.addParticipant(b);
+        state.completeAddsAndRemoves();
+        Participant.expire(b);
+        state.completeAddsAndRemoves();
+        assertSame(b, Bullet.create(100, 100, 1, 0));
+
+        // Expired while waiting to be added
+        state.addParticipant(b);
+        Participant.expire(b);
+        state.completeAddsAndRemoves();
+        assertSame(b, Bullet.create(100, 100, 1, 0));
+
+        // Waiting to be added when the state is cleared
+        state.addParticipant(b);
+        state.clear();
+        assertSame(b, Bullet.create(100, 100, 1, 0));
+        assertNull(Bullet.getPool().obtain());
+    }
+}
@@ -0,0 +1,371 @@
+package asteroids.game;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * Holds the motion and state of the participants in a ParticipantState in parallel arrays, so that the loops that move
+ * participants and look for collisions run over contiguous memory instead of chasing references from one object to
+ * the next. Each participant has a slot, and the arrays are indexed by slot. Slots are dense: the first size() slots
+ * are in use. A participant that is removed is replaced by the one in the last slot, so removal takes constant time
+ * and the order of the slots, though not the order of addition, depends only on the sequence of adds and removes.
+ *
+ * Because slots change, each participant in the store also has a handle, which stays the same while it is in the
+ * store. A handle combines an index with a generation that changes each time the index is given up, so a handle kept
+ * after its participant has left (and perhaps been pooled and used again) no longer finds anything.
+ *
+ * A Participant that is in a store reads and writes its position, velocity, rotation, and flags in the store's
+ * arrays; the Participant object itself holds its behavior and its outline. A Participant that isn't in a store keeps
+ * those values in its own fields, and they are copied back and forth as it enters and leaves.
+ */
+class ParticipantStore
+{
+    /** Flag for a participant that has expired */
+    static final int EXPIRED = 1;
+
+    /** Flag for a participant that is inert */
+    static final int INERT = 2;
+
+    /** Flag for a participant whose collision data below is in place */
+    static final int PLACED = 4;
+
+    /** A value that is never a valid handle */
+    static final long NO_HANDLE = 0;
+
+    /** The participant in each slot */
+    Participant[] participants;
+
+    /** Position, velocity, and rotation of each participant */
+    double[] x, y, speedX, speedY, rotation;
+
+    /**
+     * Position and rotation of each participant at the end of the tick before the latest one, and at the end of the
+     * latest one. Drawing between ticks goes from the first toward the current position and rotation.
+     */
+    double[] fromX, fromY, fromRotation, savedX, savedY, savedRotation;
+
+    /** Flags of each participant */
+    int[] flags;
+
+    /** Collision matrix type id of each participant */
+    int[] typeId;
+
+    /** Center and radius of each participant's bounding circle as of its last move */
+    double[] centerX, centerY, radius;
+
+    /** Bounding box of each participant's border as of its last move */
+    double[] minX, minY, maxX, maxY;
+
+    /** The handle index of the participant in each slot */
+    private int[] handleIndex;
+
+    /** The number of slots in use */
+    private int count;
+
+    /** For each handle index, the slot it refers to, or -1 if it is free */
+    private int[] slotOfHandle;
+
+    /** For each handle index, its current generation */
+    private int[] generation;
+
+    /** The number of handle indexes that have ever been used */
+    private int handles;
+
+    /** Handle indexes that are free to be used again */
+    private int[] freeHandles;
+
+    /** The number of entries in freeHandles */
+    private int freeCount;
+
+    /** The participants that have expired since the last removeExpired, in the order they expired */
+    private Participant[] expired;
+
+    /** The number of entries in expired */
+    private int expiredCount;
+
+    /**
+     * Creates an empty store.
+     */
+    public ParticipantStore ()
+    {
+        allocate(64);
+        slotOfHandle = new int[64];
+        generation = new int[64];
+        freeHandles = new int[64];
+        expired = new Participant[64];
+    }
+
+    /**
+     * Returns the number of slots in use
+     */
+    public int size ()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the participant in a slot
+     */
+    public Participant get (int slot)
+    {
+        return participants[slot];
+    }
+
+    /**
+     * Returns the handle of the participant in a slot
+     */
+    public long handleOf (int slot)
+    {
+        int index = handleIndex[slot];
+        return ((long) generation[index] << 32) | index;
+    }
+
+    /**
+     * Returns the participant with the handle, or null if it has left the store
+     */
+    public Participant get (long handle)
+    {
+        int index = (int) handle;
+        if (index < 0 || index >= handles || generation[index] != (int) (handle >>> 32) || slotOfHandle[index] < 0)
+        {
+            return null;
+        }
+        return participants[slotOfHandle[index]];
+    }
+
+    /**
+     * Puts the participant in the next slot and gives it a handle. From now on it keeps its state in the store.
+     */
+    public void add (Participant p)
+    {
+        if (count == participants.length)
+        {
+            allocate(2 * count);
+        }
+        int slot = count++;
+        participants[slot] = p;
+
+        int index;
+        if (freeCount > 0)
+        {
+            index = freeHandles[--freeCount];
+        }
+        else
+        {
+            if (handles == slotOfHandle.length)
+            {
+                slotOfHandle = Arrays.copyOf(slotOfHandle, 2 * handles);
+                generation = Arrays.copyOf(generation, 2 * handles);
+                freeHandles = Arrays.copyOf(freeHandles, 2 * handles);
+            }
+            index = handles++;
+            generation[index] = 1;
+        }
+        slotOfHandle[index] = slot;
+        handleIndex[slot] = index;
+
+        p.attach(this, slot);
+        fromX[slot] = savedX[slot] = x[slot];
+        fromY[slot] = savedY[slot] = y[slot];
+        fromRotation[slot] = savedRotation[slot] = rotation[slot];
+    }
+
+    /**
+     * Records that the participant in a slot has expired, so that removeExpired will take it out
+     */
+    void expire (int slot)
+    {
+        flags[slot] |= EXPIRED;
+        if (expiredCount == expired.length)
+        {
+            expired = Arrays.copyOf(expired, 2 * expiredCount);
+        }
+        expired[expiredCount++] = participants[slot];
+    }
+
+    /**
+     * Takes out the participants that have expired since the last call, giving them back their state, retiring their
+     * handles, and telling them they have been removed. Each one's slot is filled by the participant in the last slot.
+     * The time taken depends on the number of participants removed, not on the number in the store.
+     */
+    public void removeExpired ()
+    {
+        for (int k = 0; k < expiredCount; k++)
+        {
+            Participant p = expired[k];
+            expired[k] = null;
+            int slot = p.getSlot();
+
+            int index = handleIndex[slot];
+            generation[index]++;
+            slotOfHandle[index] = -1;
+            freeHandles[freeCount++] = index;
+            p.detach();
+
+            int last = --count;
+            if (slot != last)
+            {
+                copy(last, slot);
+            }
+            participants[last] = null;
+
+            p.removed();
+        }
+        expiredCount = 0;
+    }
+
+    /**
+     * Moves every unexpired participant along its velocity by one tick. The velocities are in pixels per
+     * FRAME_INTERVAL, and timeScale is the length of the tick as a fraction of that.
+     */
+    public void integrate (double timeScale)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if ((flags[i] & EXPIRED) == 0)
+            {
+                x[i] += speedX[i] * timeScale;
+                y[i] += speedY[i] * timeScale;
+            }
+        }
+    }
+
+    /**
+     * Records the position and rotation of every participant at the end of a tick, keeping the ones recorded at the
+     * end of the tick before as the starting point for drawing.
+     */
+    void savePoses ()
+    {
+        double[] t = fromX;
+        fromX = savedX;
+        savedX = t;
+        t = fromY;
+        fromY = savedY;
+        savedY = t;
+        t = fromRotation;
+        fromRotation = savedRotation;
+        savedRotation = t;
+        System.arraycopy(x, 0, savedX, 0, count);
+        System.arraycopy(y, 0, savedY, 0, count);
+        System.arraycopy(rotation, 0, savedRotation, 0, count);
+    }
+
+    /**
+     * Records the bounding circle and bounding box of the participant in a slot
+     */
+    void place (int slot, double cx, double cy, double r, Rectangle2D bounds)
+    {
+        centerX[slot] = cx;
+        centerY[slot] = cy;
+        radius[slot] = r;
+        minX[slot] = bounds.getMinX();
+        minY[slot] = bounds.getMinY();
+        maxX[slot] = bounds.getMaxX();
+        maxY[slot] = bounds.getMaxY();
+        flags[slot] |= PLACED;
+    }
+
+    /**
+     * Sets or clears a flag of the participant in a slot
+     */
+    void setFlag (int slot, int flag, boolean on)
+    {
+        if (on)
+        {
+            flags[slot] |= flag;
+        }
+        else
+        {
+            flags[slot] &= ~flag;
+        }
+    }
+
+    /**
+     * Reports whether the bounding circles of the participants in slots a and b overlap
+     */
+    boolean circlesOverlap (int a, int b)
+    {
+        double dx = centerX[a] - centerX[b];
+        double dy = centerY[a] - centerY[b];
+        double reach = radius[a] + radius[b];
+        return dx * dx + dy * dy <= reach * reach;
+    }
+
+    /**
+     * Reports whether the bounding boxes of the participants in slots a and b overlap, in the same way as
+     * Rectangle2D.intersects
+     */
+    boolean boundsOverlap (int a, int b)
+    {
+        return maxX[a] > minX[a] && maxY[a] > minY[a] && maxX[b] > minX[b] && maxY[b] > minY[b] && minX[b] < maxX[a]
+                && maxX[b] > minX[a] && minY[b] < maxY[a] && maxY[b] > minY[a];
+    }
+
+    /**
+     * Moves the participant in slot from to slot to
+     */
+    private void copy (int from, int to)
+    {
+        participants[to] = participants[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        speedX[to] = speedX[from];
+        speedY[to] = speedY[from];
+        rotation[to] = rotation[from];
+        fromX[to] = fromX[from];
+        fromY[to] = fromY[from];
+        fromRotation[to] = fromRotation[from];
+        savedX[to] = savedX[from];
+        savedY[to] = savedY[from];
+        savedRotation[to] = savedRotation[from];
+        flags[to] = flags[from];
+        typeId[to] = typeId[from];
+        centerX[to] = centerX[from];
+        centerY[to] = centerY[from];
+        radius[to] = radius[from];
+        minX[to] = minX[from];
+        minY[to] = minY[from];
+        maxX[to] = maxX[from];
+        maxY[to] = maxY[from];
+        handleIndex[to] = handleIndex[from];
+        slotOfHandle[handleIndex[to]] = to;
+        participants[to].setSlot(to);
+    }
+
+    /**
+     * Makes room for the given number of slots, keeping the ones in use
+     */
+    private void allocate (int capacity)
+    {
+        participants = (participants == null) ? new Participant[capacity] : Arrays.copyOf(participants, capacity);
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        speedX = grow(speedX, capacity);
+        speedY = grow(speedY, capacity);
+        rotation = grow(rotation, capacity);
+        fromX = grow(fromX, capacity);
+        fromY = grow(fromY, capacity);
+        fromRotation = grow(fromRotation, capacity);
+        savedX = grow(savedX, capacity);
+        savedY = grow(savedY, capacity);
+        savedRotation = grow(savedRotation, capacity);
+        flags = (flags == null) ? new int[capacity] : Arrays.copyOf(flags, capacity);
+        typeId = (typeId == null) ? new int[capacity] : Arrays.copyOf(typeId, capacity);
+        handleIndex = (handleIndex == null) ? new int[capacity] : Arrays.copyOf(handleIndex, capacity);
+        centerX = grow(centerX, capacity);
+        centerY = grow(centerY, capacity);
+        radius = grow(radius, capacity);
+        minX = grow(minX, capacity);
+        minY = grow(minY, capacity);
+        maxX = grow(maxX, capacity);
+        maxY = grow(maxY, capacity);
+    }
+
+    /**
+     * Returns a copy of the array with the given length, or a new array if there is none
+     */
+    private static double[] grow (double[] array, int capacity)
+    {
+        return (array == null) ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
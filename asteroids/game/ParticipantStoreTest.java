@@ -0,0 +1,189 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a ParticipantStore keeps its slots dense when participants are removed, that the state of each
+ * participant follows it from slot to slot, and that handles stop working once their participant leaves.
+ */
+public class ParticipantStoreTest
+{
+    /** The store under test */
+    private ParticipantStore store;
+
+    @BeforeEach
+    public void createStore ()
+    {
+        store = new ParticipantStore();
+    }
+
+    /**
+     * Adds a participant for each x-coordinate and returns them
+     */
+    private TestParticipant[] add (double... xs)
+    {
+        TestParticipant[] added = new TestParticipant[xs.length];
+        for (int i = 0; i < xs.length; i++)
+        {
+            added[i] = new TestParticipant();
+            added[i].setPosition(xs[i], -xs[i]);
+            added[i].setVelocity(1, 0);
+            store.add(added[i]);
+        }
+        return added;
+    }
+
+    /**
+     * Checks that the store holds exactly the participants, in that order of slots, each with its own state
+     */
+    private void assertSlots (Participant... expected)
+    {
+        assertEquals(expected.length, store.size());
+        for (int slot = 0; slot < expected.length; slot++)
+        {
+            assertSame(expected[slot], store.get(slot));
+            assertEquals(slot, expected[slot].getSlot());
+            assertEquals(expected[slot].getX(), store.x[slot]);
+            assertEquals(-expected[slot].getX(), store.y[slot]);
+            assertSame(expected[slot], store.get(expected[slot].getHandle()));
+        }
+    }
+
+    @Test
+    public void addingFillsSlotsInOrder ()
+    {
+        TestParticipant[] p = add(10, 20, 30);
+        assertSlots(p);
+        assertTrue(p[1].isAttached());
+        assertEquals(20, p[1].getX());
+        assertEquals(1, store.speedX[1]);
+    }
+
+    @Test
+    public void removingMovesTheLastParticipantIntoTheGap ()
+    {
+        TestParticipant[] p = add(10, 20, 30, 40);
+        Participant.expire(p[1]);
+        assertEquals(4, store.size());
+        store.removeExpired();
+        assertSlots(p[0], p[3], p[2]);
+
+        // Removing the last slot moves nothing
+        Participant.expire(p[2]);
+        store.removeExpired();
+        assertSlots(p[0], p[3]);
+    }
+
+    @Test
+    public void removesSeveralParticipantsInTheOrderTheyExpired ()
+    {
+        TestParticipant[] p = add(10, 20, 30, 40, 50);
+        Participant.expire(p[1]);
+        Participant.expire(p[4]);
+        Participant.expire(p[3]);
+        store.removeExpired();
+        assertSlots(p[0], p[2]);
+        for (int i = 0; i < p.length; i++)
+        {
+            assertEquals((i == 0 || i == 2) ? 0 : 1, p[i].removals);
+        }
+
+        // Nothing is removed twice
+        store.removeExpired();
+        assertEquals(1, p[1].removals);
+    }
+
+    @Test
+    public void removedParticipantsTakeTheirStateWithThem ()
+    {
+        TestParticipant[] p = add(10, 20, 30);
+        store.integrate(2);
+        Participant.expire(p[0]);
+        store.removeExpired();
+        assertFalse(p[0].isAttached());
+        assertEquals(12, p[0].getX());
+        assertEquals(-10, p[0].getY());
+        assertTrue(p[0].isExpired());
+        assertEquals(ParticipantStore.NO_HANDLE, p[0].getHandle());
+        assertEquals(32, store.x[0]);
+    }
+
+    @Test
+    public void integrateSkipsExpiredParticipants ()
+    {
+        TestParticipant[] p = add(10, 20);
+        Participant.expire(p[1]);
+        store.integrate(1);
+        assertEquals(11, p[0].getX());
+        assertEquals(20, p[1].getX());
+    }
+
+    @Test
+    public void handlesOfRemovedParticipantsFindNothing ()
+    {
+        TestParticipant[] p = add(10, 20, 30);
+        long first = p[0].getHandle();
+        long moved = p[2].getHandle();
+        Participant.expire(p[0]);
+        store.removeExpired();
+        assertNull(store.get(first));
+        assertSame(p[2], store.get(moved));
+        assertNull(store.get(ParticipantStore.NO_HANDLE));
+    }
+
+    @Test
+    public void reusedHandleIndexesGetANewGeneration ()
+    {
+        TestParticipant[] p = add(10, 20);
+        long old = p[0].getHandle();
+        Participant.expire(p[0]);
+        store.removeExpired();
+
+        // The same object comes back, as a pooled participant would, and so does its handle's index
+        p[0].reset();
+        p[0].setPosition(15, -15);
+        store.add(p[0]);
+        long renewed = p[0].getHandle();
+        assertEquals((int) old, (int) renewed);
+        assertNotEquals(old, renewed);
+        assertNull(store.get(old));
+        assertSame(p[0], store.get(renewed));
+        assertSlots(p[1], p[0]);
+    }
+
+    @Test
+    public void growsWithoutLosingState ()
+    {
+        double[] xs = new double[300];
+        for (int i = 0; i < xs.length; i++)
+        {
+            xs[i] = i;
+        }
+        TestParticipant[] p = add(xs);
+        assertSlots(p);
+
+        // Remove every third participant and check that the rest are still found by their handles
+        long[] handles = new long[p.length];
+        for (int i = 0; i < p.length; i++)
+        {
+            handles[i] = p[i].getHandle();
+            if (i % 3 == 0)
+            {
+                Participant.expire(p[i]);
+            }
+        }
+        store.removeExpired();
+        assertEquals(200, store.size());
+        for (int i = 0; i < p.length; i++)
+        {
+            Participant found = store.get(handles[i]);
+            assertSame((i % 3 == 0) ? null : p[i], found);
+            if (found != null)
+            {
+                assertEquals(i, store.x[found.getSlot()]);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package asteroids.game;
+
+import java.io.*;
+
+/**
+ * Records a game so that Replay can play it again exactly. Given the seed of the game's GameRandom, the length of a
+ * tick, and the Input actions taken on each tick, the game always comes out the same, so that is all that is written,
+ * along with a checksum of the state after each tick that lets Replay check that it is still in step.
+ *
+ * The file is binary and big endian: the int MAGIC, the byte VERSION, the long seed, and the long tick length in
+ * nanoseconds, followed by five bytes for each tick, the byte of actions and the int checksum. It ends with the last
+ * tick recorded.
+ *
+ * Recording is turned on by naming a file with the asteroids.record system property. Each game started replaces the
+ * file, so it always holds the latest game. The file is closed when the program exits.
+ */
+class Recorder
+{
+    /** The system property that names the file to record to */
+    public static final String PROPERTY = "asteroids.record";
+
+    /** The first four bytes of a recording, "AST" and a zero */
+    public static final int MAGIC = 0x41535400;
+
+    /** The version of the format, which changes when the same seed would no longer play out the same way */
+    public static final int VERSION = 2;
+
+    /** The file recorded to */
+    private final File file;
+
+    /** The stream for the current game, or null if no game is being recorded */
+    private DataOutputStream out;
+
+    /**
+     * Creates a recorder that writes games to the file and closes it when the program exits
+     */
+    public Recorder (File file)
+    {
+        this.file = file;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Asteroids recorder"));
+    }
+
+    /**
+     * Returns a recorder for the file named by the asteroids.record system property, or null if it isn't set
+     */
+    public static Recorder fromSystemProperty ()
+    {
+        String name = System.getProperty(PROPERTY);
+        return (name == null) ? null : new Recorder(new File(name));
+    }
+
+    /**
+     * Starts recording a new game, replacing whatever the file held
+     */
+    public synchronized void startGame (long seed, long tickLength)
+    {
+        close();
+        try
+        {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeLong(tickLength);
+        }
+        catch (IOException e)
+        {
+            fail(e);
+        }
+    }
+
+    /**
+     * Records the actions taken on a tick and the checksum of the state after it
+     */
+    public synchronized void tick (int actions, int checksum)
+    {
+        if (out == null)
+        {
+            return;
+        }
+        try
+        {
+            out.writeByte(actions);
+            out.writeInt(checksum);
+        }
+        catch (IOException e)
+        {
+            fail(e);
+        }
+    }
+
+    /**
+     * Finishes the file of the current game, if there is one
+     */
+    public synchronized void close ()
+    {
+        if (out == null)
+        {
+            return;
+        }
+        try
+        {
+            out.close();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Can't finish recording " + file + ": " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Reports a failure to write and stops recording the current game
+     */
+    private void fail (IOException e)
+    {
+        System.err.println("Can't record to " + file + ": " + e.getMessage());
+        if (out != null)
+        {
+            try
+            {
+                out.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package asteroids.game;
+
+/**
+ * The ways the play area can be drawn. The mode is chosen with the asteroids.renderMode system property, whose value
+ * is the name of a mode in lower case.
+ */
+public enum RenderMode
+{
+    /** Swing paints the game on the event dispatch thread, from a snapshot taken as it paints */
+    SWING,
+
+    /**
+     * Each refresh hands a FrameSnapshot to a render thread, which draws it into an image while the game goes on; Swing
+     * then only copies the newest image to the screen
+     */
+    THREADED,
+
+    /**
+     * The play area is a Canvas that draws each frame, score, level, and lives included, through a BufferStrategy as
+     * soon as the game asks for a refresh, and flips it onto the screen
+     */
+    ACTIVE;
+
+    /** The system property that chooses the mode */
+    public static final String PROPERTY = "asteroids.renderMode";
+
+    /**
+     * Returns the mode named by the asteroids.renderMode system property, or THREADED if it isn't set
+     */
+    public static RenderMode fromSystemProperty ()
+    {
+        String name = System.getProperty(PROPERTY);
+        return (name == null) ? THREADED : valueOf(name.toUpperCase());
+    }
+}
@@ -0,0 +1,141 @@
+package asteroids.game;
+
+import java.io.*;
+
+/**
+ * Plays a game recorded by Recorder again, without a window, sound, or refresh timer, as fast as the processor allows.
+ * After each tick the state of the game is checked against the checksum recorded for it. When the replay is over, the
+ * number of ticks per second is reported, along with the checksum of the final state and whether the replay kept in
+ * step with the recording. Since a recording always plays out the same way, replaying it is a benchmark that any
+ * change to the engine can be measured with, and a check that the change doesn't alter the game.
+ *
+ * Usage: java asteroids.game.Replay file [repeats]
+ */
+public class Replay
+{
+    /** The seed of the recorded game */
+    private final long seed;
+
+    /** The length of a tick in nanoseconds */
+    private final long tickLength;
+
+    /** The actions taken on each tick */
+    private final byte[] actions;
+
+    /** The checksum of the state after each tick */
+    private final int[] checksums;
+
+    /**
+     * Reads a recording
+     * @throws IOException if the file can't be read or isn't a recording
+     */
+    public Replay (File file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            if (in.readInt() != Recorder.MAGIC)
+            {
+                throw new IOException(file + " is not a recording");
+            }
+            int version = in.readUnsignedByte();
+            if (version != Recorder.VERSION)
+            {
+                throw new IOException(file + " is a recording of version " + version + ", not " + Recorder.VERSION);
+            }
+            seed = in.readLong();
+            tickLength = in.readLong();
+
+            // The rest of the file is five bytes per tick
+            int ticks = (int) ((file.length() - 21) / 5);
+            actions = new byte[ticks];
+            checksums = new int[ticks];
+            for (int i = 0; i < ticks; i++)
+            {
+                actions[i] = in.readByte();
+                checksums[i] = in.readInt();
+            }
+        }
+    }
+
+    /**
+     * Replays the recording named by the first argument as many times as the second argument gives (or once) and
+     * reports the results of the last time. Exits with status 1 if the replay didn't keep in step with the recording.
+     */
+    public static void main (String[] args)
+    {
+        System.setProperty("java.awt.headless", "true");
+        System.clearProperty(Recorder.PROPERTY);
+        int repeats = 1;
+        try
+        {
+            if (args.length > 1)
+            {
+                repeats = Integer.parseInt(args[1]);
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            repeats = 0;
+        }
+        if (args.length < 1 || repeats <= 0)
+        {
+            System.err.println("Usage: java asteroids.game.Replay file [repeats], where repeats is at least 1");
+            System.exit(2);
+        }
+
+        Replay replay;
+        try
+        {
+            replay = new Replay(new File(args[0]));
+        }
+        catch (IOException e)
+        {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        int diverged = -1;
+        long elapsed = 0;
+        Controller controller = null;
+        for (int i = 0; i < repeats; i++)
+        {
+            controller = new Controller(new HeadlessView(), new SimulationClock(replay.tickLength));
+            long start = System.nanoTime();
+            diverged = replay.play(controller);
+            elapsed = System.nanoTime() - start;
+        }
+
+        int ticks = replay.actions.length;
+        double seconds = elapsed / 1e9;
+        System.out.printf("%d ticks in %.3f s (%.0f ticks/s, %.1fx real time)%n", ticks, seconds, ticks / seconds,
+                ticks * replay.tickLength / 1e9 / seconds);
+        System.out.printf("final checksum %08x, level %d, score %d%n", controller.checksum(), controller.getLevel(),
+                controller.getScore());
+        if (diverged >= 0)
+        {
+            System.out.println("diverged from the recording at tick " + diverged);
+            System.exit(1);
+        }
+        System.out.println("in step with the recording");
+    }
+
+    /**
+     * Plays the recording on a new controller, returning the first tick after which the state differs from the one
+     * recorded, or -1 if it never does
+     */
+    public int play (Controller controller)
+    {
+        int diverged = -1;
+        controller.startGame(seed);
+        for (int i = 0; i < actions.length; i++)
+        {
+            controller.tick(actions[i]);
+            if (diverged < 0 && controller.checksum() != checksums[i])
+            {
+                diverged = i;
+            }
+        }
+        return diverged;
+    }
+}
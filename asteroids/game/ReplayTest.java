@@ -0,0 +1,99 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Records a headless game played with a fixed seed and a fixed script of actions, and checks that replaying it stays
+ * in step with the recording, and that a replay notices when it doesn't.
+ */
+public class ReplayTest
+{
+    /** The seed of the recorded game */
+    private static final long SEED = 25;
+
+    /** The number of ticks recorded, enough for the ship to fire, die, and come back */
+    private static final int TICKS = 3000;
+
+    /** Holds the recording */
+    @TempDir
+    static File directory;
+
+    /** The recording */
+    private static File recording;
+
+    /**
+     * Plays TICKS ticks of a game with the script of actions and records each tick as Controller does
+     */
+    @BeforeAll
+    public static void record ()
+    {
+        System.setProperty("java.awt.headless", "true");
+        recording = new File(directory, "game.rec");
+        Recorder recorder = new Recorder(recording);
+        Controller controller = new Controller(new HeadlessView(), new SimulationClock());
+        controller.startGame(SEED);
+        recorder.startGame(SEED, controller.getClock().getTickLength());
+        for (int tick = 0; tick < TICKS; tick++)
+        {
+            int actions = script(tick);
+            controller.tick(actions);
+            recorder.tick(actions, controller.checksum());
+        }
+        recorder.close();
+    }
+
+    /**
+     * Returns the actions taken on the tick: fire on and off, turn left then right then go straight, and thrust
+     * briefly every few seconds, as HeadlessGame steers
+     */
+    private static int script (int tick)
+    {
+        int actions = (tick % 4 < 2) ? Input.FIRE : 0;
+        if ((tick / 45) % 3 == 0)
+        {
+            actions |= Input.TURN_LEFT;
+        }
+        else if ((tick / 45) % 3 == 1)
+        {
+            actions |= Input.TURN_RIGHT;
+        }
+        return (tick % 120 < 15) ? actions | Input.THRUST : actions;
+    }
+
+    @Test
+    public void replayKeepsInStepWithTheRecording () throws IOException
+    {
+        Replay replay = new Replay(recording);
+        assertEquals(-1, replay.play(new Controller(new HeadlessView(), new SimulationClock())));
+
+        // Again on the same controller, as the replay benchmark does
+        Controller controller = new Controller(new HeadlessView(), new SimulationClock());
+        assertEquals(-1, replay.play(controller));
+        assertEquals(-1, replay.play(controller));
+    }
+
+    @Test
+    public void replayReportsTheFirstTickThatDiffers () throws IOException
+    {
+        // Change the checksum recorded for one tick, which follows the 21-byte header and the action byte of each tick
+        File altered = new File(directory, "altered.rec");
+        Files.copy(recording.toPath(), altered.toPath());
+        int tick = TICKS / 2;
+        try (RandomAccessFile file = new RandomAccessFile(altered, "rw"))
+        {
+            file.seek(21 + 5 * tick + 1);
+            int checksum = file.readInt();
+            file.seek(21 + 5 * tick + 1);
+            file.writeInt(~checksum);
+        }
+        Replay replay = new Replay(altered);
+        assertEquals(tick, replay.play(new Controller(new HeadlessView(), new SimulationClock())));
+    }
+}
@@ -0,0 +1,79 @@
+package asteroids.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue of longs that passes values from one thread to another without locks. The writer puts values into a
+ * ring of slots and advances the tail; the reader takes them and advances the head. Each index is written by only one
+ * thread, and the other reads it only to see how far it may go, so neither thread ever waits. When the ring is full,
+ * offer fails rather than block, so the writer decides what to do with a value there is no room for.
+ *
+ * Only one thread may write and only one may read.
+ */
+class RingBuffer
+{
+    /** The slots, whose number is a power of two */
+    private final long[] slots;
+
+    /** Selects a slot from an index */
+    private final int mask;
+
+    /** The number of values that have been taken */
+    private final AtomicLong head;
+
+    /** The number of values that have been put */
+    private final AtomicLong tail;
+
+    /** The head as the writer last saw it, so that it needn't read the head on every offer */
+    private long cachedHead;
+
+    /**
+     * Creates an empty ring buffer with room for at least the given number of values
+     */
+    public RingBuffer (int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        slots = new long[size];
+        mask = size - 1;
+        head = new AtomicLong();
+        tail = new AtomicLong();
+    }
+
+    /**
+     * Puts a value at the end of the queue, returning false if it is full. Only the writer may call this.
+     */
+    public boolean offer (long value)
+    {
+        long t = tail.get();
+        if (t - cachedHead == slots.length)
+        {
+            cachedHead = head.get();
+            if (t - cachedHead == slots.length)
+            {
+                return false;
+            }
+        }
+        slots[(int) t & mask] = value;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Reports whether there is nothing to take. Only the reader may rely on the answer.
+     */
+    public boolean isEmpty ()
+    {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Removes and returns the value at the front of the queue, which must not be empty. Only the reader may call this.
+     */
+    public long take ()
+    {
+        long h = head.get();
+        long value = slots[(int) h & mask];
+        head.lazySet(h + 1);
+        return value;
+    }
+}
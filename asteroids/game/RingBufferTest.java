@@ -0,0 +1,136 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Checks that a RingBuffer hands values over in order as its indexes wrap around the ring, refuses values only when
+ * it is full, and loses none when a writer and a reader run on different threads.
+ */
+public class RingBufferTest
+{
+    @Test
+    public void roundsCapacityUpToAPowerOfTwo ()
+    {
+        assertEquals(2, fill(new RingBuffer(1)));
+        assertEquals(4, fill(new RingBuffer(3)));
+        assertEquals(4, fill(new RingBuffer(4)));
+        assertEquals(8, fill(new RingBuffer(5)));
+        assertEquals(256, fill(new RingBuffer(256)));
+    }
+
+    /**
+     * Offers values until one is refused and returns the number taken
+     */
+    private static int fill (RingBuffer ring)
+    {
+        int count = 0;
+        while (ring.offer(count))
+        {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void keepsOrderAcrossManyTurns ()
+    {
+        RingBuffer ring = new RingBuffer(8);
+        assertTrue(ring.isEmpty());
+        long next = 0, expected = 0;
+
+        // Batches of every size up to full, so the head and tail pass the end of the ring at every offset
+        for (int turn = 0; turn < 50; turn++)
+        {
+            int batch = turn % 9;
+            for (int i = 0; i < batch; i++)
+            {
+                assertTrue(ring.offer(next++));
+            }
+            if (batch == 8)
+            {
+                assertFalse(ring.offer(-1));
+            }
+            for (int i = 0; i < batch; i++)
+            {
+                assertFalse(ring.isEmpty());
+                assertEquals(expected++, ring.take());
+            }
+            assertTrue(ring.isEmpty());
+        }
+    }
+
+    @Test
+    public void refusesOnlyWhenFull ()
+    {
+        RingBuffer ring = new RingBuffer(4);
+        for (long v = 0; v < 3; v++)
+        {
+            assertTrue(ring.offer(v));
+        }
+        assertEquals(0, ring.take());
+
+        // The tail now wraps past the end of the ring into the slot the take freed
+        assertTrue(ring.offer(3));
+        assertTrue(ring.offer(4));
+        assertFalse(ring.offer(5));
+        assertEquals(1, ring.take());
+        assertTrue(ring.offer(5));
+        assertFalse(ring.offer(6));
+        for (long v = 2; v <= 5; v++)
+        {
+            assertEquals(v, ring.take());
+        }
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    public void carriesEveryBitOfAValue ()
+    {
+        RingBuffer ring = new RingBuffer(4);
+        long[] values = { Long.MIN_VALUE, -1, 0, Long.MAX_VALUE, 0x123456789abcdefL };
+        for (long v : values)
+        {
+            assertTrue(ring.offer(v));
+            assertEquals(v, ring.take());
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    public void passesValuesBetweenThreads () throws InterruptedException
+    {
+        RingBuffer ring = new RingBuffer(16);
+        long count = 100000;
+        Thread writer = new Thread(() ->
+        {
+            for (long v = 0; v < count;)
+            {
+                if (ring.offer(v))
+                {
+                    v++;
+                }
+                else
+                {
+                    Thread.yield();
+                }
+            }
+        });
+        writer.setDaemon(true);
+        writer.start();
+        for (long expected = 0; expected < count;)
+        {
+            if (ring.isEmpty())
+            {
+                Thread.yield();
+            }
+            else
+            {
+                assertEquals(expected++, ring.take());
+            }
+        }
+        writer.join();
+        assertTrue(ring.isEmpty());
+    }
+}
@@ -5,7 +5,8 @@ import java.awt.*;
 import javax.swing.*;
 
 /**
- * The area of the display in which the game takes place.
+ * The area of the display in which the game takes place, with the score, level, and lives drawn over it. Depending on
+ * the RenderMode, it either paints the game itself or shows the frames that a FrameRenderer draws on another thread.
  */
 @SuppressWarnings("serial")
 public class Screen extends JPanel
@@ -16,10 +17,36 @@ public class Screen extends JPanel
     /** Game controller */
     private Controller controller;
 
+    /** Draws frames on another thread, or null if this screen paints the game itself */
+    private FrameRenderer renderer;
+
+    /** The value of System.nanoTime at the first refresh not yet painted, or 0 if there is none */
+    private long requested;
+
+    /** The snapshot painted when this screen paints the game itself */
+    private FrameSnapshot frame;
+
+    /** The sprites used when this screen paints the game itself, or null if outlines are drawn as shapes */
+    private SpriteCache sprites;
+
+    /** The HUD used when this screen paints the game itself */
+    private Hud hud;
+
+    /** Font used for the profiler's report */
+    private static final Font PROFILE_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
     /**
-     * Creates an empty screen
+     * Creates an empty screen that is drawn in the mode given by the asteroids.renderMode system property
      */
     public Screen (Controller controller)
+    {
+        this(controller, RenderMode.fromSystemProperty());
+    }
+
+    /**
+     * Creates an empty screen that is drawn in the given mode
+     */
+    Screen (Controller controller, RenderMode mode)
     {
         this.controller = controller;
         legend = "";
@@ -27,8 +54,17 @@ public class Screen extends JPanel
         setMinimumSize(new Dimension(SIZE, SIZE));
         setBackground(Color.black);
         setForeground(Color.white);
-        setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 120));
         setFocusable(true);
+        if (mode == RenderMode.THREADED)
+        {
+            renderer = new FrameRenderer(this, controller.getProfiler());
+        }
+        else
+        {
+            frame = new FrameSnapshot();
+            sprites = SpriteCache.ENABLED ? new SpriteCache() : null;
+            hud = new Hud();
+        }
     }
 
     /**
@@ -40,27 +76,85 @@ public class Screen extends JPanel
     }
 
     /**
-     * Paint the participants onto this panel
+     * Brings the screen up to date with the game. This must be called on the thread that runs the game.
+     */
+    public void refresh ()
+    {
+        if (renderer == null)
+        {
+            // Frames that Swing coalesces are late from the first request
+            if (requested == 0)
+            {
+                requested = System.nanoTime();
+            }
+            repaint();
+        }
+        else
+        {
+            renderer.publish(controller, legend);
+        }
+    }
+
+    /**
+     * Paint the participants onto this panel, or copy the newest frame drawn by the renderer
      */
     @Override
     public void paintComponent (Graphics graphics)
     {
-        // Use better resolution
-        Graphics2D g = (Graphics2D) graphics;
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (renderer != null)
+        {
+            renderer.paint(graphics);
+            return;
+        }
+        long start = System.nanoTime();
 
-        // Do the default painting
-        super.paintComponent(g);
+        // Draw the game as it is now
+        frame.capture(controller, legend);
+        drawFrame((Graphics2D) graphics, frame, hud, sprites);
 
-        // Draw each participant in its proper place
-        for (Participant p: controller)
+        TickProfiler profiler = controller.getProfiler();
+        profiler.record(TickProfiler.Metric.PAINT, System.nanoTime() - start);
+        if (requested != 0)
         {
-            p.draw(g);
+            profiler.framePresented(requested);
+            requested = 0;
         }
+    }
 
-        // Draw the legend across the middle of the panel
-        int size = g.getFontMetrics().stringWidth(legend);
-        g.drawString(legend, (SIZE - size) / 2, SIZE / 2);
+    /**
+     * Draws a snapshot of the game onto an area the size of the screen, clearing it first, with its score, level,
+     * lives, and legend drawn by the HUD and its outlines copied from the sprite cache unless that is null. This may be
+     * called on any thread, since it uses nothing but the snapshot, the HUD, and the cache, which must belong to that
+     * thread.
+     */
+    static void drawFrame (Graphics2D g, FrameSnapshot frame, Hud hud, SpriteCache sprites)
+    {
+        g.setColor(Color.black);
+        g.fillRect(0, 0, SIZE, SIZE);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setColor(Color.white);
+        frame.drawParticipants(g, sprites);
+        hud.draw(g, frame);
+        if (frame.getProfile() != null)
+        {
+            drawProfile(g, frame.getProfile());
+        }
+    }
+
+    /**
+     * Draws the lines of the profiler's report in the lower left corner. This changes the font and color.
+     */
+    private static void drawProfile (Graphics2D g, String[] lines)
+    {
+        g.setFont(PROFILE_FONT);
+        g.setColor(Color.green);
+        int height = g.getFontMetrics().getHeight();
+        int y = SIZE - 10 - height * (lines.length - 1);
+        for (String line : lines)
+        {
+            g.drawString(line, 10, y);
+            y += height;
+        }
     }
 }
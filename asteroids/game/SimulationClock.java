@@ -0,0 +1,83 @@
+package asteroids.game;
+
+/**
+ * A GameClock that moves forward by the same number of simulated nanoseconds on every tick, no matter how much real
+ * time has passed.
+ */
+public class SimulationClock implements GameClock
+{
+    /** The system property that gives the tick rate, in ticks per second */
+    public static final String TICK_RATE_PROPERTY = "asteroids.tickRate";
+
+    /** The number of simulated nanoseconds in one tick */
+    private final long tickLength;
+
+    /** The number of ticks that have passed */
+    private long ticks;
+
+    /**
+     * Creates a clock whose ticks are FRAME_INTERVAL milliseconds long
+     */
+    public SimulationClock ()
+    {
+        this(Constants.FRAME_INTERVAL * 1000000L);
+    }
+
+    /**
+     * Creates a clock whose ticks are the given number of nanoseconds long
+     */
+    public SimulationClock (long tickLength)
+    {
+        if (tickLength <= 0)
+        {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickLength);
+        }
+        this.tickLength = tickLength;
+    }
+
+    /**
+     * Creates a clock that ticks the given number of times per second of game time
+     */
+    public static SimulationClock atRate (int ticksPerSecond)
+    {
+        if (ticksPerSecond <= 0)
+        {
+            throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+        }
+        return new SimulationClock(1000000000L / ticksPerSecond);
+    }
+
+    /**
+     * Creates a clock for the tick rate given by the asteroids.tickRate system property, usually 30, 60, or 120. If the
+     * property isn't set, the ticks are FRAME_INTERVAL milliseconds long.
+     */
+    public static SimulationClock fromSystemProperty ()
+    {
+        Integer rate = Integer.getInteger(TICK_RATE_PROPERTY);
+        return (rate == null) ? new SimulationClock() : atRate(rate);
+    }
+
+    @Override
+    public long getTicks ()
+    {
+        return ticks;
+    }
+
+    @Override
+    public long getTickLength ()
+    {
+        return tickLength;
+    }
+
+    @Override
+    public long nanoTime ()
+    {
+        return ticks * tickLength;
+    }
+
+    @Override
+    public void tick ()
+    {
+        ticks++;
+    }
+}
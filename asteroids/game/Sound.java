@@ -0,0 +1,37 @@
+package asteroids.game;
+
+/**
+ * The sounds of the game. Each is played from the file in /sounds/ that it names, and is known to the SoundMixer by its
+ * ordinal.
+ */
+public enum Sound
+{
+    BANG_ALIEN_SHIP("bangAlienShip"),
+    BANG_LARGE("bangLarge"),
+    BANG_MEDIUM("bangMedium"),
+    BANG_SHIP("bangShip"),
+    BANG_SMALL("bangSmall"),
+    FIRE("fire"),
+    SAUCER_BIG("saucerBig"),
+    SAUCER_SMALL("saucerSmall"),
+    THRUST("thrust");
+
+    /** The name of the .wav file in /sounds/, without the extension */
+    private final String file;
+
+    /**
+     * Creates a sound that is played from the named file
+     */
+    private Sound (String file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Returns the resource the sound is played from
+     */
+    public String getResource ()
+    {
+        return "/sounds/" + file + ".wav";
+    }
+}
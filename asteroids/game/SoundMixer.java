@@ -0,0 +1,344 @@
+package asteroids.game;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import javax.sound.sampled.*;
+
+/**
+ * Plays sounds by mixing them in software into a single SourceDataLine. Each sound is decoded once, before it is
+ * added, into an array of 16 bit samples in the mixer's format. A fixed number of voices can play at once, each one
+ * reading its own position in a sound, so a sound can overlap itself; when every voice is busy, a new sound takes over
+ * the voice that has played longest, preferring one that isn't looping. Looping voices start over at the end of their
+ * sound until they are stopped.
+ *
+ * Sounds are played, looped, and stopped by commands that the game thread puts into a RingBuffer and the mixer thread
+ * carries out before it mixes each buffer, so the game never waits on the mixer or the audio device. If the game
+ * sends commands faster than they are carried out and the queue fills, the extra commands are dropped. The voices are
+ * touched only by the mixer thread.
+ *
+ * The mixer thread fills a small buffer at a time, whose length in sample frames is given by the asteroids.audioBuffer
+ * system property, and writes it to the line, which paces the thread. Neither sending commands nor mixing allocates.
+ *
+ * Sounds must all be added before the mixer is started, and only one thread may send commands.
+ */
+class SoundMixer implements Runnable
+{
+    /** The system property that gives the length of the mix buffer in sample frames */
+    public static final String BUFFER_PROPERTY = "asteroids.audioBuffer";
+
+    /** The length of the mix buffer when the property isn't set, about 23 milliseconds */
+    public static final int DEFAULT_BUFFER_FRAMES = 256;
+
+    /** The number of voices */
+    public static final int VOICES = 16;
+
+    /** The number of commands that can wait to be carried out */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /** The commands, each of which is put in the high half of a queued value, with the sound in the low half */
+    private static final long PLAY = 1L << 32, LOOP = 2L << 32, STOP = 3L << 32;
+
+    /** The format that sounds are decoded to and mixed in: 11025 Hz, 16 bit, signed, mono, little endian */
+    public static final AudioFormat FORMAT = new AudioFormat(11025f, 16, 1, true, false);
+
+    /** The decoded sounds, indexed by the numbers that add returns */
+    private short[][] sounds;
+
+    /** The number of sounds */
+    private int soundCount;
+
+    /** The sound each voice is playing, or -1 if the voice is free */
+    private final int[] voiceSound;
+
+    /** The next sample each voice will play */
+    private final int[] voicePosition;
+
+    /** True for each voice that loops */
+    private final boolean[] voiceLoops;
+
+    /** When each voice started, counted in voices started */
+    private final long[] voiceStart;
+
+    /** The number of voices that have been started */
+    private long started;
+
+    /** The sum of the voices for each frame of the buffer */
+    private final int[] mix;
+
+    /** The mixed buffer as bytes in FORMAT */
+    private final byte[] block;
+
+    /** The line that is played to, or null until the mixer is started */
+    private SourceDataLine line;
+
+    /** Commands waiting for the mixer thread */
+    private final RingBuffer commands;
+
+    /**
+     * Creates a mixer with no sounds whose buffer has the given number of frames
+     */
+    public SoundMixer (int bufferFrames)
+    {
+        sounds = new short[8][];
+        voiceSound = new int[VOICES];
+        voicePosition = new int[VOICES];
+        voiceLoops = new boolean[VOICES];
+        voiceStart = new long[VOICES];
+        Arrays.fill(voiceSound, -1);
+        mix = new int[bufferFrames];
+        block = new byte[bufferFrames * FORMAT.getFrameSize()];
+        commands = new RingBuffer(QUEUE_CAPACITY);
+    }
+
+    /**
+     * Returns the buffer length given by the asteroids.audioBuffer system property, or DEFAULT_BUFFER_FRAMES if it
+     * isn't set
+     */
+    public static int bufferFramesFromSystemProperty ()
+    {
+        return Integer.getInteger(BUFFER_PROPERTY, DEFAULT_BUFFER_FRAMES);
+    }
+
+    /**
+     * Decodes the sound in a resource into samples in FORMAT, returning null if it can't be read or converted or is
+     * empty. This may be called on any thread.
+     */
+    public static short[] decode (String resource)
+    {
+        InputStream in = SoundMixer.class.getResourceAsStream(resource);
+        if (in == null)
+        {
+            return null;
+        }
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(in));
+                AudioInputStream decoded = AudioSystem.getAudioInputStream(FORMAT, source))
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = decoded.read(chunk)) > 0)
+            {
+                bytes.write(chunk, 0, n);
+            }
+            byte[] data = bytes.toByteArray();
+            if (data.length < 2)
+            {
+                return null;
+            }
+            short[] samples = new short[data.length / 2];
+            for (int i = 0; i < samples.length; i++)
+            {
+                samples[i] = (short) ((data[2 * i] & 0xff) | (data[2 * i + 1] << 8));
+            }
+            return samples;
+        }
+        catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Adds a sound that has been decoded into FORMAT, returning the number that plays it, or -1 if samples is null
+     */
+    public int add (short[] samples)
+    {
+        if (samples == null)
+        {
+            return -1;
+        }
+        if (soundCount == sounds.length)
+        {
+            sounds = Arrays.copyOf(sounds, soundCount * 2);
+        }
+        sounds[soundCount] = samples;
+        return soundCount++;
+    }
+
+    /**
+     * Opens a line and starts the mixer thread. Returns false, leaving the mixer silent, if no line can be had.
+     */
+    public boolean start ()
+    {
+        try
+        {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, 2 * block.length);
+        }
+        catch (LineUnavailableException | IllegalArgumentException | SecurityException e)
+        {
+            line = null;
+            return false;
+        }
+        line.start();
+        Thread thread = new Thread(this, "Asteroids mixer");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Starts the sound playing once from its beginning on a voice of its own
+     */
+    public void play (int sound)
+    {
+        commands.offer(PLAY | sound);
+    }
+
+    /**
+     * Starts the sound playing over and over, unless it is looping already
+     */
+    public void loop (int sound)
+    {
+        commands.offer(LOOP | sound);
+    }
+
+    /**
+     * Silences every voice playing the sound
+     */
+    public void stop (int sound)
+    {
+        commands.offer(STOP | sound);
+    }
+
+    /**
+     * Carries out the commands that are waiting
+     */
+    private void runCommands ()
+    {
+        while (!commands.isEmpty())
+        {
+            long command = commands.take();
+            int sound = (int) command;
+            long op = command & ~0xffffffffL;
+            if (op == PLAY)
+            {
+                startVoice(sound, false);
+            }
+            else if (op == LOOP)
+            {
+                startLoop(sound);
+            }
+            else
+            {
+                stopVoices(sound);
+            }
+        }
+    }
+
+    /**
+     * Starts a looping voice for the sound unless one is playing it already
+     */
+    private void startLoop (int sound)
+    {
+        for (int v = 0; v < VOICES; v++)
+        {
+            if (voiceSound[v] == sound && voiceLoops[v])
+            {
+                return;
+            }
+        }
+        startVoice(sound, true);
+    }
+
+    /**
+     * Frees every voice playing the sound
+     */
+    private void stopVoices (int sound)
+    {
+        for (int v = 0; v < VOICES; v++)
+        {
+            if (voiceSound[v] == sound)
+            {
+                voiceSound[v] = -1;
+            }
+        }
+    }
+
+    /**
+     * Starts the sound on a free voice, or on the voice that has played longest if there is none, preferring one that
+     * isn't looping
+     */
+    private void startVoice (int sound, boolean loops)
+    {
+        if (sound < 0 || sound >= soundCount)
+        {
+            return;
+        }
+        int chosen = -1;
+        for (int v = 0; v < VOICES; v++)
+        {
+            if (voiceSound[v] < 0)
+            {
+                chosen = v;
+                break;
+            }
+            if (chosen < 0 || voiceLoops[chosen] && !voiceLoops[v]
+                    || voiceLoops[chosen] == voiceLoops[v] && voiceStart[v] < voiceStart[chosen])
+            {
+                chosen = v;
+            }
+        }
+        voiceSound[chosen] = sound;
+        voicePosition[chosen] = 0;
+        voiceLoops[chosen] = loops;
+        voiceStart[chosen] = started++;
+    }
+
+    /**
+     * Carries out the waiting commands, then mixes the voices into the buffer and returns it, advancing each voice by
+     * the length of the buffer. Only the mixer thread may call this once the mixer is started.
+     */
+    byte[] mix ()
+    {
+        runCommands();
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < VOICES; v++)
+        {
+            if (voiceSound[v] < 0)
+            {
+                continue;
+            }
+            short[] samples = sounds[voiceSound[v]];
+            int position = voicePosition[v];
+            for (int i = 0; i < mix.length; i++)
+            {
+                if (position == samples.length)
+                {
+                    if (!voiceLoops[v])
+                    {
+                        voiceSound[v] = -1;
+                        break;
+                    }
+                    position = 0;
+                }
+                mix[i] += samples[position++];
+            }
+            voicePosition[v] = position;
+        }
+
+        for (int i = 0; i < mix.length; i++)
+        {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            block[2 * i] = (byte) sample;
+            block[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return block;
+    }
+
+    /**
+     * Mixes and plays buffer after buffer, waiting on the line
+     */
+    @Override
+    public void run ()
+    {
+        while (true)
+        {
+            byte[] data = mix();
+            line.write(data, 0, data.length);
+        }
+    }
+}
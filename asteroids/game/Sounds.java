@@ -1,77 +1,86 @@
 package asteroids.game;
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import javax.sound.sampled.*;
-import java.util.TreeMap;
-import java.lang.IllegalArgumentException;
+import java.util.Arrays;
 
 public class Sounds
 {
 
-    /** Represents all sound files needed */
-    private TreeMap<String, Clip> clips;
-    
+    /** The mixer's number for each Sound, by ordinal, or -1 if it couldn't be loaded */
+    private int[] ids;
+
+    /** True for each Sound, by ordinal, that was last told to loop rather than stop */
+    private boolean[] looping;
+
+    /** Mixes and plays the sounds, or null until they are loaded and a line is open */
+    private volatile SoundMixer mixer;
+
     /**
-     * Initializes all sound files needed from /sounds/
+     * Plays the sounds that the assets load, once all are loaded. Until then, and for good if no audio line can be
+     * opened, nothing is played.
      */
-    public Sounds ()
+    public Sounds (Assets assets)
     {
-        clips = new TreeMap<String, Clip>();
-        
-        addClip("bangAlienShip");
-        addClip("bangLarge");
-        addClip("bangMedium");
-        addClip("bangShip");
-        addClip("bangSmall");
-        addClip("fire");
-        addClip("saucerBig");
-        addClip("saucerSmall");
-        addClip("thrust");
+        this();
+
+        // Start the mixer on a loader thread, so the game needn't wait for the audio device
+        assets.getSoundsLoaded().thenRun( () -> {
+            SoundMixer mixer = new SoundMixer(SoundMixer.bufferFramesFromSystemProperty());
+            for (Sound s : Sound.values())
+            {
+                ids[s.ordinal()] = mixer.add(assets.getSound(s));
+            }
+            if (mixer.start()) this.mixer = mixer;
+        });
     }
-    
+
     /**
-     * Plays a sound, if the sound isn't already playing
-     * @param name: the name of a .wav file in /sounds/ (without extension)
-     * Note: the .wav must be added to the sound list in the constructor
-     * @throws IllegalArgumentException if the sound file is null
+     * Returns a Sounds object that loads no clips and whose play method does nothing, for running without audio
      */
-    public void play (String name) throws IllegalArgumentException {
-        //Check if sound valid
-        if (clips.get(name) == null) 
-            throw new IllegalArgumentException("Sound not found!");
-        
-        Clip sound = clips.get(name);
-        if (sound.isRunning()) return;
-        sound.setFramePosition(0);
-        sound.start();
+    public static Sounds silent ()
+    {
+        return new Sounds();
     }
-    
+
     /**
-     * Adds an audio clip to the list from a sound file.
-     * @param name: The name of a .wav file in /sounds/ (without extension)
+     * Initializes a Sounds object with no mixer
      */
-    private void addClip (String name)
+    private Sounds ()
     {
-        String soundFile = "/sounds/" + name + ".wav";
-        try (BufferedInputStream sound = new BufferedInputStream(getClass().getResourceAsStream(soundFile)))
-        {
-            Clip clip = AudioSystem.getClip();
-            clip.open(AudioSystem.getAudioInputStream(sound));
-            clips.put(name, clip);
-        }
-        catch (LineUnavailableException e)
-        {
-            return;
-        }
-        catch (IOException e)
-        {
-            return;
-        }
-        catch (UnsupportedAudioFileException e)
-        {
-            return;
-        }
+        ids = new int[Sound.values().length];
+        looping = new boolean[ids.length];
+        Arrays.fill(ids, -1);
+    }
+
+    /**
+     * Plays a sound once from its beginning. It may overlap other sounds, itself included. This only queues a command
+     * for the mixer thread, so it never waits on the audio device.
+     */
+    public void play (Sound s) {
+        SoundMixer mixer = this.mixer;
+        if (mixer == null || ids[s.ordinal()] < 0) return;
+        mixer.play(ids[s.ordinal()]);
+    }
+
+    /**
+     * Plays a sound over and over until it is stopped. Nothing is sent to the mixer if the sound is looping already, so
+     * this may be called on every tick.
+     */
+    public void loop (Sound s) {
+        SoundMixer mixer = this.mixer;
+        if (mixer == null || ids[s.ordinal()] < 0 || looping[s.ordinal()]) return;
+        looping[s.ordinal()] = true;
+        mixer.loop(ids[s.ordinal()]);
     }
-    
+
+    /**
+     * Stops a sound wherever it is playing. Nothing is sent to the mixer if the sound was last told to stop and has
+     * not been looped since, so this may be called on every tick.
+     */
+    public void stop (Sound s) {
+        SoundMixer mixer = this.mixer;
+        if (mixer == null || ids[s.ordinal()] < 0 || !looping[s.ordinal()]) return;
+        looping[s.ordinal()] = false;
+        mixer.stop(ids[s.ordinal()]);
+    }
+
 }
@@ -0,0 +1,144 @@
+package asteroids.game;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+
+/**
+ * Draws outlines by copying images of them instead of rasterizing them every frame. For each outline there is an
+ * atlas, an image with a cell for each of ROTATIONS evenly spaced rotations; a cell is rasterized, with antialiasing,
+ * the first time its rotation is needed, and after that drawing the outline at a nearby rotation is a single image
+ * copy. The game has few outlines, all of them shared (four asteroid varieties in three sizes, one ship and its flame,
+ * two aliens, the bullet, and eleven pieces of debris), so there are few atlases.
+ *
+ * The atlases are made compatible with the GraphicsConfiguration being drawn to, so that they can be kept in video
+ * memory. If the configuration changes (the window moves to another screen, say), the atlases are thrown away and
+ * built again.
+ *
+ * Sprites are used when the system property asteroids.sprites is true. A cache must be used on one thread at a time.
+ */
+class SpriteCache
+{
+    /** True if outlines should be drawn from sprites */
+    static final boolean ENABLED = Boolean.getBoolean("asteroids.sprites");
+
+    /** The number of rotations in an atlas, which must be a multiple of COLUMNS */
+    private static final int ROTATIONS = 64;
+
+    /** The number of cells across an atlas */
+    private static final int COLUMNS = 8;
+
+    /** Room left around the outline in each cell for the width of the stroke and the antialiasing */
+    private static final int PADDING = 2;
+
+    /** The most atlases kept. Outlines beyond this many are left for the caller to draw. */
+    private static final int MAX_ATLASES = 64;
+
+    /** The atlas of each outline */
+    private final IdentityHashMap<Shape, Atlas> atlases;
+
+    /** The configuration the atlases were made for, or null if there are none */
+    private GraphicsConfiguration config;
+
+    /**
+     * The images of one outline at each rotation
+     */
+    private static class Atlas
+    {
+        /** The outline */
+        final Shape outline;
+
+        /** The image that holds the cells */
+        final BufferedImage image;
+
+        /** The width and height of a cell */
+        final int cell;
+
+        /** True for each rotation whose cell has been drawn */
+        final boolean[] drawn;
+
+        /**
+         * Creates an empty atlas for the outline, compatible with the configuration
+         */
+        Atlas (Shape outline, GraphicsConfiguration config)
+        {
+            this.outline = outline;
+
+            // A cell must hold the outline at any rotation about the origin
+            Rectangle2D box = outline.getBounds2D();
+            double reach = Math.hypot(Math.max(-box.getMinX(), box.getMaxX()), Math.max(-box.getMinY(), box.getMaxY()));
+            cell = 2 * ((int) Math.ceil(reach) + PADDING);
+            int rows = ROTATIONS / COLUMNS;
+            image = config.createCompatibleImage(cell * COLUMNS, cell * rows, Transparency.TRANSLUCENT);
+            drawn = new boolean[ROTATIONS];
+        }
+
+        /**
+         * Rasterizes the outline at a rotation into its cell
+         */
+        void draw (int rotation, Color color)
+        {
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(color);
+            g.translate((rotation % COLUMNS) * cell + cell / 2, (rotation / COLUMNS) * cell + cell / 2);
+            g.rotate(rotation * 2 * Math.PI / ROTATIONS);
+            g.draw(outline);
+            g.dispose();
+            drawn[rotation] = true;
+        }
+    }
+
+    /**
+     * Creates an empty cache
+     */
+    public SpriteCache ()
+    {
+        atlases = new IdentityHashMap<>();
+    }
+
+    /**
+     * Draws the outline with its center at (x, y), rotated to the nearest of ROTATIONS rotations, in the current color
+     * of g. Returns false, having drawn nothing, if there is no room for another atlas.
+     */
+    public boolean draw (Graphics2D g, Shape outline, double x, double y, double rotation)
+    {
+        GraphicsConfiguration current = g.getDeviceConfiguration();
+        if (current != config)
+        {
+            atlases.clear();
+            config = current;
+        }
+
+        Atlas atlas = atlases.get(outline);
+        if (atlas == null)
+        {
+            if (atlases.size() == MAX_ATLASES)
+            {
+                return false;
+            }
+            atlas = new Atlas(outline, config);
+            atlases.put(outline, atlas);
+        }
+
+        int r = (int) Math.round(rotation * ROTATIONS / (2 * Math.PI)) % ROTATIONS;
+        if (r < 0)
+        {
+            r += ROTATIONS;
+        }
+        if (!atlas.drawn[r])
+        {
+            atlas.draw(r, g.getColor());
+        }
+
+        int cell = atlas.cell;
+        int sx = (r % COLUMNS) * cell;
+        int sy = (r / COLUMNS) * cell;
+        int dx = (int) Math.round(x) - cell / 2;
+        int dy = (int) Math.round(y) - cell / 2;
+        g.drawImage(atlas.image, dx, dy, dx + cell, dy + cell, sx, sy, sx + cell, sy + cell, null);
+        return true;
+    }
+}
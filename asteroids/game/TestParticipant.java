@@ -0,0 +1,61 @@
+package asteroids.game;
+
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small round participant for tests, which ignores collisions and records what happens to it: the payloads of its
+ * countdowns as they complete, and the number of times it has been removed.
+ */
+class TestParticipant extends Participant
+{
+    /** The outline shared by all test participants */
+    private static final Shape OUTLINE = new Ellipse2D.Double(-1, -1, 2, 2);
+
+    /** The payloads of the countdowns that have completed, in order, possibly shared with other participants */
+    final List<Object> completed;
+
+    /** The number of times this participant has been removed */
+    int removals;
+
+    /**
+     * Creates a participant that records its countdowns in a list of its own
+     */
+    TestParticipant ()
+    {
+        this(new ArrayList<Object>());
+    }
+
+    /**
+     * Creates a participant that records its countdowns in the given list
+     */
+    TestParticipant (List<Object> completed)
+    {
+        this.completed = completed;
+    }
+
+    @Override
+    protected Shape getOutline ()
+    {
+        return OUTLINE;
+    }
+
+    @Override
+    public void collidedWith (Participant p)
+    {
+    }
+
+    @Override
+    public void countdownComplete (Object payload)
+    {
+        completed.add(payload);
+    }
+
+    @Override
+    protected void removed ()
+    {
+        removals++;
+    }
+}
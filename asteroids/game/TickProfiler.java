@@ -0,0 +1,225 @@
+package asteroids.game;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records how long each phase of a game tick takes, along with how many participants and pairs of participants each
+ * tick deals with. Every metric goes into a Histogram, so recording never allocates.
+ *
+ * The ticks are grouped into windows of WINDOW ticks. The report describes the most recently completed window, so it
+ * changes only once per window and reflects recent play rather than the whole game. Frames don't come one per tick,
+ * so the metrics of drawing and showing frames go into whichever window is being filled when they are recorded.
+ */
+public class TickProfiler
+{
+    /** The number of ticks in each window (about ten seconds of play at the default tick rate) */
+    public static final int WINDOW = 300;
+
+    /** The value System.nanoTime had, to the millisecond, when the Java virtual machine started */
+    private static final long JVM_START =
+            System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1000000L;
+
+    /**
+     * The things that are measured. Timed metrics are in nanoseconds; the others are counts.
+     */
+    public enum Metric
+    {
+        /** Advancing the countdowns and moving the participants */
+        MOVE("move", true),
+
+        /** ParticipantState.checkForCollisions */
+        COLLIDE("collide", true),
+
+        /** ParticipantState.completeAddsAndRemoves */
+        ADDS_REMOVES("adds/removes", true),
+
+        /** Display.refresh */
+        REFRESH("refresh", true),
+
+        /** Drawing a frame, on whichever thread draws */
+        PAINT("paint", true),
+
+        /** From the refresh that asked for a frame to the frame reaching the screen */
+        PRESENT("present", true),
+
+        /** How much the time between two frames reaching the screen differs from the time between the two before */
+        JITTER("jitter", true),
+
+        /** From a key being pressed or released to the start of the tick that acts on it */
+        INPUT("input", true),
+
+        /** The whole tick, from the transition check to the end of the move, but not the refresh after it */
+        TICK("total", true),
+
+        /** The participants present at the start of the tick */
+        PARTICIPANTS("participants", false),
+
+        /** The pairs of participants examined by the collision check */
+        PAIRS("pairs", false),
+
+        /** The asteroids in the game at the end of the tick */
+        ASTEROIDS("asteroids", false),
+
+        /** The ship's bullets in the game at the end of the tick */
+        BULLETS("bullets", false),
+
+        /** The debris in the game at the end of the tick */
+        DEBRIS("debris", false);
+
+        /** The name used in the report */
+        private final String label;
+
+        /** Whether the metric is a time */
+        private final boolean timed;
+
+        private Metric (String label, boolean timed)
+        {
+            this.label = label;
+            this.timed = timed;
+        }
+    }
+
+    /** The histograms being filled during the current window, one per metric */
+    private Histogram[] filling;
+
+    /** The histograms from the last complete window, one per metric */
+    private Histogram[] completed;
+
+    /** The number of ticks so far in the current window */
+    private int ticks;
+
+    /** The report on the completed window, or null if it hasn't been made yet */
+    private String[] report;
+
+    /** The value of System.nanoTime when the last frame reached the screen, or 0 if none has */
+    private long lastPresent;
+
+    /** The time between the last two frames reaching the screen, or -1 if fewer than two have */
+    private long lastInterval = -1;
+
+    /** The time from the start of the Java virtual machine to the first frame reaching the screen, or -1 */
+    private long firstFrame = -1;
+
+    /**
+     * Creates a profiler with nothing recorded.
+     */
+    public TickProfiler ()
+    {
+        int count = Metric.values().length;
+        filling = new Histogram[count];
+        completed = new Histogram[count];
+        for (int i = 0; i < count; i++)
+        {
+            filling[i] = new Histogram();
+            completed[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records a value of the metric for the current tick
+     */
+    public void record (Metric metric, long value)
+    {
+        filling[metric.ordinal()].record(value);
+    }
+
+    /**
+     * Records that a frame has reached the screen, whose refresh began when System.nanoTime returned requested. This
+     * records the PRESENT and JITTER metrics, so it must be called once for each frame shown.
+     */
+    public void framePresented (long requested)
+    {
+        long now = System.nanoTime();
+        record(Metric.PRESENT, now - requested);
+        if (lastPresent != 0)
+        {
+            long interval = now - lastPresent;
+            if (lastInterval >= 0)
+            {
+                record(Metric.JITTER, Math.abs(interval - lastInterval));
+            }
+            lastInterval = interval;
+        }
+        else
+        {
+            firstFrame = now - JVM_START;
+            report = null;
+        }
+        lastPresent = now;
+    }
+
+    /**
+     * Ends the current tick. If the window is full, it becomes the one that is reported on and a new one begins.
+     */
+    public void endTick ()
+    {
+        ticks++;
+        if (ticks == WINDOW)
+        {
+            Histogram[] h = completed;
+            completed = filling;
+            filling = h;
+            for (Histogram histogram : filling)
+            {
+                histogram.clear();
+            }
+            ticks = 0;
+            report = null;
+        }
+    }
+
+    /**
+     * Returns the nanoseconds from the start of the Java virtual machine to the first frame reaching the screen, or -1
+     * if none has. This measures how long the game takes to start.
+     */
+    public long getTimeToFirstFrame ()
+    {
+        return firstFrame;
+    }
+
+    /**
+     * Returns the histogram of the metric over the last complete window
+     */
+    public Histogram getHistogram (Metric metric)
+    {
+        return completed[metric.ordinal()];
+    }
+
+    /**
+     * Returns the lines of a report on the last complete window. For each timed metric it gives the median, 99th
+     * percentile, and maximum in milliseconds, and the 99th percentile as a percentage of FRAME_INTERVAL. For each
+     * count it gives the same percentiles. The first line gives the time to the first frame once there has been one.
+     * The lines are made only once per window.
+     */
+    public String[] getReport ()
+    {
+        if (report == null)
+        {
+            Metric[] metrics = Metric.values();
+            report = new String[metrics.length + 2];
+            report[0] = String.format("last %d ticks, frame budget %d ms", WINDOW, Constants.FRAME_INTERVAL);
+            if (firstFrame >= 0)
+            {
+                report[0] += String.format(", first frame %d ms", firstFrame / 1000000);
+            }
+            report[1] = String.format("%-13s %8s %8s %8s %7s", "", "p50", "p99", "max", "budget");
+            double budget = Constants.FRAME_INTERVAL * 1e6;
+            for (Metric m : metrics)
+            {
+                Histogram h = getHistogram(m);
+                long p50 = h.getPercentile(0.50);
+                long p99 = h.getPercentile(0.99);
+                if (m.timed)
+                {
+                    report[m.ordinal() + 2] = String.format("%-13s %8.3f %8.3f %8.3f %6.1f%%", m.label, p50 / 1e6,
+                            p99 / 1e6, h.getMax() / 1e6, 100 * p99 / budget);
+                }
+                else
+                {
+                    report[m.ordinal() + 2] = String.format("%-13s %8d %8d %8d", m.label, p50, p99, h.getMax());
+                }
+            }
+        }
+        return report;
+    }
+}
@@ -0,0 +1,218 @@
+package asteroids.game;
+
+/**
+ * A hashed timing wheel that runs ParticipantCountdownTimers off the simulation tick instead of off Swing timers. The
+ * wheel has a fixed number of slots, one per tick; a countdown lands in the slot for the tick on which it ends, with a
+ * count of the full turns of the wheel still to go. Each tick, the wheel moves to the next slot and completes the
+ * countdowns there that have no turns left. Scheduling and cancelling are constant time, and nothing runs between
+ * ticks. Durations are converted to ticks by the wheel's GameClock.
+ *
+ * Each thread has a current wheel, which is where ParticipantCountdownTimers created on that thread are scheduled. A
+ * ParticipantState installs its wheel as the current one when it is created and each time it moves its participants.
+ * A thread that schedules a countdown without having installed a wheel is an error, since a wheel of its own would
+ * never be advanced and the countdown would silently never complete.
+ */
+class TimingWheel
+{
+    /** The number of slots, which must be a power of two. At 33 ms per tick, one turn is about 8.4 seconds. */
+    private static final int SLOTS = 256;
+
+    /** The wheel installed on each thread, if any */
+    private static final ThreadLocal<TimingWheel> current = new ThreadLocal<TimingWheel>();
+
+    /** The clock that measures the ticks */
+    private GameClock clock;
+
+    /** The first and last countdown in each slot */
+    private ParticipantCountdownTimer[] heads, tails;
+
+    /** The countdowns being completed during the current tick */
+    private ParticipantCountdownTimer firing;
+
+    /** The number of ticks that have passed */
+    private long tick;
+
+    /**
+     * Creates an empty wheel whose ticks are measured by the clock.
+     */
+    public TimingWheel (GameClock clock)
+    {
+        this.clock = clock;
+        heads = new ParticipantCountdownTimer[SLOTS];
+        tails = new ParticipantCountdownTimer[SLOTS];
+    }
+
+    /**
+     * Returns the current wheel for this thread, throwing an IllegalStateException if none has been installed
+     */
+    public static TimingWheel current ()
+    {
+        TimingWheel wheel = current.get();
+        if (wheel == null)
+        {
+            throw new IllegalStateException("No TimingWheel has been installed on " + Thread.currentThread().getName());
+        }
+        return wheel;
+    }
+
+    /**
+     * Makes wheel the current wheel for this thread
+     */
+    public static void install (TimingWheel wheel)
+    {
+        current.set(wheel);
+    }
+
+    /**
+     * Returns the clock that measures the ticks
+     */
+    public GameClock getClock ()
+    {
+        return clock;
+    }
+
+    /**
+     * Converts a duration in milliseconds to a number of ticks, rounding up. Every countdown lasts at least one tick.
+     */
+    public int ticksFor (int msecs)
+    {
+        return clock.ticksFor(msecs);
+    }
+
+    /**
+     * Schedules the countdown to complete after the given number of ticks (at least one).
+     */
+    public void schedule (ParticipantCountdownTimer t, int ticks)
+    {
+        ticks = Math.max(1, ticks);
+        t.rounds = (ticks - 1) / SLOTS;
+        link(t, (int) ((tick + ticks) & (SLOTS - 1)));
+    }
+
+    /**
+     * Removes the countdown from the wheel. Does nothing if it isn't scheduled.
+     */
+    public void cancel (ParticipantCountdownTimer t)
+    {
+        if (t.slot != ParticipantCountdownTimer.UNSCHEDULED)
+        {
+            unlink(t);
+        }
+    }
+
+    /**
+     * Moves the wheel forward one tick and completes the countdowns that end on it. Countdowns scheduled or cancelled
+     * while this is happening take effect normally.
+     */
+    public void advance ()
+    {
+        tick++;
+        int slot = (int) (tick & (SLOTS - 1));
+
+        // Move the slot's countdowns to the firing list, so that countdowns scheduled by the callbacks land safely
+        firing = heads[slot];
+        for (ParticipantCountdownTimer t = firing; t != null; t = t.next)
+        {
+            t.slot = ParticipantCountdownTimer.FIRING;
+        }
+        heads[slot] = null;
+        tails[slot] = null;
+
+        while (firing != null)
+        {
+            ParticipantCountdownTimer t = firing;
+            unlink(t);
+            if (t.rounds > 0)
+            {
+                t.rounds--;
+                link(t, slot);
+            }
+            else
+            {
+                t.complete();
+            }
+        }
+    }
+
+    /**
+     * Cancels every countdown.
+     */
+    public void clear ()
+    {
+        while (firing != null)
+        {
+            firing.cancel();
+        }
+        for (int slot = 0; slot < SLOTS; slot++)
+        {
+            while (heads[slot] != null)
+            {
+                heads[slot].cancel();
+            }
+        }
+    }
+
+    /**
+     * Adds the countdown to the end of a slot.
+     */
+    private void link (ParticipantCountdownTimer t, int slot)
+    {
+        t.slot = slot;
+        t.wheel = this;
+        t.next = null;
+        t.prev = tails[slot];
+        if (tails[slot] == null)
+        {
+            heads[slot] = t;
+        }
+        else
+        {
+            tails[slot].next = t;
+        }
+        tails[slot] = t;
+    }
+
+    /**
+     * Removes the countdown from the slot or firing list that it is in.
+     */
+    private void unlink (ParticipantCountdownTimer t)
+    {
+        if (t.slot == ParticipantCountdownTimer.FIRING)
+        {
+            if (t.prev == null)
+            {
+                firing = t.next;
+            }
+            else
+            {
+                t.prev.next = t.next;
+            }
+            if (t.next != null)
+            {
+                t.next.prev = t.prev;
+            }
+        }
+        else
+        {
+            if (t.prev == null)
+            {
+                heads[t.slot] = t.next;
+            }
+            else
+            {
+                t.prev.next = t.next;
+            }
+            if (t.next == null)
+            {
+                tails[t.slot] = t.prev;
+            }
+            else
+            {
+                t.next.prev = t.prev;
+            }
+        }
+        t.prev = null;
+        t.next = null;
+        t.slot = ParticipantCountdownTimer.UNSCHEDULED;
+    }
+}
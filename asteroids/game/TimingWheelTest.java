@@ -0,0 +1,271 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that countdowns on a TimingWheel complete on the right tick, and that cancelling, restarting, expiring the
+ * participant, and clearing the wheel each stop them.
+ */
+public class TimingWheelTest
+{
+    /** The number of slots in the wheel, which is one turn of it */
+    private static final int TURN = 256;
+
+    /** The wheel under test, installed as the current one */
+    private TimingWheel wheel;
+
+    /** The payloads of the callbacks made, in order */
+    private List<Object> completed;
+
+    @BeforeEach
+    public void installWheel ()
+    {
+        wheel = new TimingWheel(new SimulationClock());
+        TimingWheel.install(wheel);
+        completed = new ArrayList<Object>();
+    }
+
+    /**
+     * Returns a participant that records its callbacks in completed
+     */
+    private TestParticipant probe ()
+    {
+        return new TestParticipant(completed);
+    }
+
+    /**
+     * Returns the duration in milliseconds of the given number of ticks
+     */
+    private static int msecs (int ticks)
+    {
+        return ticks * Constants.FRAME_INTERVAL;
+    }
+
+    /**
+     * Advances the wheel the given number of ticks
+     */
+    private void advance (int ticks)
+    {
+        for (int i = 0; i < ticks; i++)
+        {
+            wheel.advance();
+        }
+    }
+
+    @Test
+    public void completesOnItsTick ()
+    {
+        assertEquals(3, wheel.ticksFor(msecs(3)));
+        new ParticipantCountdownTimer(probe(), "done", msecs(3));
+        advance(2);
+        assertTrue(completed.isEmpty());
+        advance(1);
+        assertEquals(List.of("done"), completed);
+        advance(2 * TURN);
+        assertEquals(1, completed.size());
+    }
+
+    @Test
+    public void lastsAtLeastOneTick ()
+    {
+        new ParticipantCountdownTimer(probe(), "done", 0);
+        advance(1);
+        assertEquals(List.of("done"), completed);
+    }
+
+    @Test
+    public void countdownsInOneSlotCompleteInOrder ()
+    {
+        TestParticipant p = probe();
+        new ParticipantCountdownTimer(p, 1, msecs(5));
+        new ParticipantCountdownTimer(probe(), 2, msecs(5));
+        new ParticipantCountdownTimer(p, 3, msecs(5 + TURN));
+        new ParticipantCountdownTimer(probe(), 4, msecs(5));
+        advance(5);
+        assertEquals(List.of(1, 2, 4), completed);
+    }
+
+    @Test
+    public void countdownsLongerThanATurnWaitForTheirRound ()
+    {
+        int ticks = 3 * TURN + 7;
+        new ParticipantCountdownTimer(probe(), "long", msecs(ticks));
+        new ParticipantCountdownTimer(probe(), "turn", msecs(TURN));
+        advance(TURN - 1);
+        assertTrue(completed.isEmpty());
+        advance(1);
+        assertEquals(List.of("turn"), completed);
+        advance(ticks - TURN - 1);
+        assertEquals(List.of("turn"), completed);
+        advance(1);
+        assertEquals(List.of("turn", "long"), completed);
+    }
+
+    @Test
+    public void cancelledCountdownsDoNotComplete ()
+    {
+        ParticipantCountdownTimer first = new ParticipantCountdownTimer(probe(), 1, msecs(4));
+        ParticipantCountdownTimer middle = new ParticipantCountdownTimer(probe(), 2, msecs(4));
+        ParticipantCountdownTimer last = new ParticipantCountdownTimer(probe(), 3, msecs(4));
+        ParticipantCountdownTimer alone = new ParticipantCountdownTimer(probe(), 4, msecs(9));
+        middle.cancel();
+        advance(4);
+        assertEquals(List.of(1, 3), completed);
+
+        alone.cancel();
+        alone.cancel();
+        first.cancel();
+        last.cancel();
+        advance(TURN);
+        assertEquals(List.of(1, 3), completed);
+        assertEquals(ParticipantCountdownTimer.UNSCHEDULED, alone.slot);
+    }
+
+    @Test
+    public void restartingReplacesTheDuration ()
+    {
+        ParticipantCountdownTimer t = new ParticipantCountdownTimer(probe(), "again", msecs(2));
+        advance(1);
+        t.restart(msecs(TURN + 2));
+        advance(TURN + 1);
+        assertTrue(completed.isEmpty());
+        advance(1);
+        assertEquals(List.of("again"), completed);
+
+        // A completed countdown can be started again
+        t.restart(msecs(1));
+        advance(1);
+        assertEquals(List.of("again", "again"), completed);
+    }
+
+    @Test
+    public void expiringTheParticipantCancelsItsCountdowns ()
+    {
+        TestParticipant p = probe();
+        ParticipantCountdownTimer soon = new ParticipantCountdownTimer(p, 1, msecs(1));
+        ParticipantCountdownTimer later = new ParticipantCountdownTimer(p, 2, msecs(2 * TURN));
+        new ParticipantCountdownTimer(probe(), 3, msecs(1));
+        Participant.expire(p);
+        assertEquals(ParticipantCountdownTimer.UNSCHEDULED, soon.slot);
+        assertEquals(ParticipantCountdownTimer.UNSCHEDULED, later.slot);
+        advance(2 * TURN);
+        assertEquals(List.of(3), completed);
+
+        // An expired participant can't start a countdown
+        ParticipantCountdownTimer t = new ParticipantCountdownTimer(p, 4, msecs(1));
+        assertEquals(ParticipantCountdownTimer.UNSCHEDULED, t.slot);
+        advance(1);
+        assertEquals(List.of(3), completed);
+    }
+
+    @Test
+    public void expiringDuringATickCancelsCountdownsStillToFire ()
+    {
+        TestParticipant victim = probe();
+        TestParticipant killer = new TestParticipant(completed)
+        {
+            @Override
+            public void countdownComplete (Object payload)
+            {
+                super.countdownComplete(payload);
+                Participant.expire(victim);
+            }
+        };
+        new ParticipantCountdownTimer(killer, 1, msecs(3));
+        new ParticipantCountdownTimer(victim, 2, msecs(3));
+        advance(3);
+        assertEquals(List.of(1), completed);
+    }
+
+    @Test
+    public void callbacksCanScheduleCountdowns ()
+    {
+        TestParticipant repeater = new TestParticipant(completed)
+        {
+            @Override
+            public void countdownComplete (Object payload)
+            {
+                super.countdownComplete(payload);
+                if (completed.size() < 5)
+                {
+                    new ParticipantCountdownTimer(this, payload, msecs(1));
+                }
+            }
+        };
+        new ParticipantCountdownTimer(repeater, "tick", msecs(1));
+        advance(1);
+        assertEquals(1, completed.size());
+        advance(10);
+        assertEquals(5, completed.size());
+    }
+
+    @Test
+    public void clearCancelsEveryCountdown ()
+    {
+        TestParticipant p = probe();
+        List<ParticipantCountdownTimer> timers = new ArrayList<ParticipantCountdownTimer>();
+        for (int i = 1; i <= 3 * TURN; i += 7)
+        {
+            timers.add(new ParticipantCountdownTimer(p, i, msecs(i)));
+            timers.add(new ParticipantCountdownTimer(probe(), -i, msecs(i)));
+        }
+        advance(8);
+        assertEquals(4, completed.size());
+
+        wheel.clear();
+        advance(4 * TURN);
+        assertEquals(4, completed.size());
+        for (ParticipantCountdownTimer t : timers)
+        {
+            assertEquals(ParticipantCountdownTimer.UNSCHEDULED, t.slot);
+        }
+
+        // The wheel still works afterwards
+        new ParticipantCountdownTimer(p, "after", msecs(2));
+        advance(2);
+        assertEquals("after", completed.get(4));
+    }
+
+    @Test
+    public void aThreadWithoutAWheelCantScheduleCountdowns () throws InterruptedException
+    {
+        Throwable[] thrown = new Throwable[1];
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                new ParticipantCountdownTimer(new TestParticipant(), "lost", msecs(1));
+            }
+            catch (Throwable t)
+            {
+                thrown[0] = t;
+            }
+        });
+        thread.start();
+        thread.join();
+        assertTrue(thrown[0] instanceof IllegalStateException, "thrown: " + thrown[0]);
+    }
+
+    @Test
+    public void clearDuringATickCancelsTheRestOfIt ()
+    {
+        TestParticipant clearer = new TestParticipant(completed)
+        {
+            @Override
+            public void countdownComplete (Object payload)
+            {
+                super.countdownComplete(payload);
+                wheel.clear();
+            }
+        };
+        new ParticipantCountdownTimer(clearer, 1, msecs(2));
+        new ParticipantCountdownTimer(probe(), 2, msecs(2));
+        new ParticipantCountdownTimer(probe(), 3, msecs(3));
+        advance(5);
+        assertEquals(List.of(1), completed);
+    }
+}
@@ -0,0 +1,84 @@
+package asteroids.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes a stream of values from one thread to another without locks and without either thread waiting for the other.
+ * There are three buffers: the writer fills the back buffer, the reader uses the front buffer, and the third holds the
+ * newest value that the reader hasn't taken yet. Publishing swaps the back buffer with the third, and taking the newest
+ * value swaps the front buffer with it, so each thread always owns a buffer that the other can't touch. The reader
+ * always gets the newest complete value; the writer never blocks, and values the reader is too slow for are skipped.
+ *
+ * Only one thread may write and only one may read.
+ */
+class TripleBuffer<T>
+{
+    /** Bit of state that is set when the middle buffer holds a value the reader hasn't taken */
+    private static final int FRESH = 4;
+
+    /** Bits of state that give the index of the middle buffer */
+    private static final int INDEX = 3;
+
+    /** The three buffers, each a T */
+    private final Object[] buffers;
+
+    /** The index of the middle buffer, plus FRESH if it is new */
+    private final AtomicInteger state;
+
+    /** The index of the buffer owned by the writer */
+    private int back;
+
+    /** The index of the buffer owned by the reader */
+    private int front;
+
+    /**
+     * Creates a triple buffer that uses the three given buffers. The reader starts out with the first.
+     */
+    public TripleBuffer (T first, T second, T third)
+    {
+        buffers = new Object[] { first, second, third };
+        front = 0;
+        state = new AtomicInteger(1);
+        back = 2;
+    }
+
+    /**
+     * Returns the buffer that the writer should fill next. Only the writer may call this.
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack ()
+    {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Makes the back buffer the newest value and gives the writer another buffer to fill. Only the writer may call this.
+     */
+    public void publish ()
+    {
+        back = state.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * If a value has been published since the last call, makes the newest one the front buffer and returns true.
+     * Otherwise returns false and leaves the front buffer as it is. Only the reader may call this.
+     */
+    public boolean update ()
+    {
+        if ((state.get() & FRESH) == 0)
+        {
+            return false;
+        }
+        front = state.getAndSet(front) & INDEX;
+        return true;
+    }
+
+    /**
+     * Returns the buffer that the reader is using. Only the reader may call this.
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront ()
+    {
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,145 @@
+package asteroids.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Checks that a TripleBuffer gives the reader the newest published value, skipping older ones, and that a writer and
+ * a reader on different threads never hold the same buffer.
+ */
+public class TripleBufferTest
+{
+    /** Marks a buffer that nobody holds */
+    private static final int FREE = 0;
+
+    /** Marks a buffer that the writer holds */
+    private static final int WRITER = 1;
+
+    /** Marks a buffer that the reader holds */
+    private static final int READER = 2;
+
+    /**
+     * A buffer that holds a value twice, so that a reader can tell if it was being written while it was read, and
+     * records who holds it
+     */
+    private static class Slot
+    {
+        long value = -1;
+        long copy = -1;
+        final AtomicInteger owner = new AtomicInteger(FREE);
+    }
+
+    /**
+     * Returns a triple buffer of three slots
+     */
+    private static TripleBuffer<Slot> create ()
+    {
+        return new TripleBuffer<>(new Slot(), new Slot(), new Slot());
+    }
+
+    /**
+     * Writes the value into the back buffer and publishes it
+     */
+    private static void publish (TripleBuffer<Slot> buffer, long value)
+    {
+        buffer.getBack().value = value;
+        buffer.publish();
+    }
+
+    @Test
+    public void nothingIsFreshUntilSomethingIsPublished ()
+    {
+        TripleBuffer<Slot> buffer = create();
+        Slot front = buffer.getFront();
+        assertFalse(buffer.update());
+        assertSame(front, buffer.getFront());
+        assertNotSame(front, buffer.getBack());
+
+        publish(buffer, 1);
+        assertTrue(buffer.update());
+        assertEquals(1, buffer.getFront().value);
+        assertFalse(buffer.update());
+        assertEquals(1, buffer.getFront().value);
+    }
+
+    @Test
+    public void theReaderSkipsToTheNewestValue ()
+    {
+        TripleBuffer<Slot> buffer = create();
+        for (long v = 0; v < 10; v++)
+        {
+            publish(buffer, v);
+            assertNotSame(buffer.getFront(), buffer.getBack());
+        }
+        assertTrue(buffer.update());
+        assertEquals(9, buffer.getFront().value);
+        assertNotSame(buffer.getFront(), buffer.getBack());
+
+        // The buffer the reader gave up goes back to the writer in turn
+        publish(buffer, 10);
+        publish(buffer, 11);
+        assertTrue(buffer.update());
+        assertEquals(11, buffer.getFront().value);
+    }
+
+    @Test
+    @Timeout(60)
+    public void passesValuesBetweenThreads () throws InterruptedException
+    {
+        TripleBuffer<Slot> buffer = create();
+        long count = 100000;
+        AtomicInteger clashes = new AtomicInteger();
+        assertTrue(buffer.getFront().owner.compareAndSet(FREE, READER));
+
+        Thread writer = new Thread(() ->
+        {
+            for (long v = 0; v < count; v++)
+            {
+                Slot back = buffer.getBack();
+                if (!back.owner.compareAndSet(FREE, WRITER))
+                {
+                    clashes.incrementAndGet();
+                }
+                back.value = v;
+                back.copy = v;
+                back.owner.set(FREE);
+                buffer.publish();
+                if (v % 16 == 0)
+                {
+                    Thread.yield();
+                }
+            }
+        });
+        writer.setDaemon(true);
+        writer.start();
+
+        long last = -1;
+        while (last < count - 1)
+        {
+            buffer.getFront().owner.set(FREE);
+            boolean fresh = buffer.update();
+            Slot front = buffer.getFront();
+            if (!front.owner.compareAndSet(FREE, READER))
+            {
+                clashes.incrementAndGet();
+            }
+            assertEquals(front.value, front.copy);
+            if (fresh)
+            {
+                assertTrue(front.value > last, "a value published before " + last + " came back");
+                last = front.value;
+            }
+            else
+            {
+                assertEquals(last, front.value);
+                Thread.yield();
+            }
+        }
+        writer.join();
+        assertEquals(0, clashes.get());
+        assertFalse(buffer.update());
+        assertEquals(count - 1, buffer.getFront().value);
+    }
+}
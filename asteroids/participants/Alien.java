@@ -3,15 +3,24 @@ package asteroids.participants;
 import static asteroids.game.Constants.*;
 import java.awt.Shape;
 import java.awt.geom.*;
+import java.util.SplittableRandom;
 import asteroids.destroyers.*;
 import asteroids.game.Controller;
+import asteroids.game.GameRandom;
 import asteroids.game.Participant;
 import asteroids.game.ParticipantCountdownTimer;
+import asteroids.game.Sound;
 import asteroids.participants.AlienBullet;
 import java.awt.geom.AffineTransform;
 
 public class Alien extends Participant implements ShipDestroyer, AsteroidDestroyer
 {
+    /** Outline of a large alien ship, shared by all of them */
+    private static final Shape LARGE_OUTLINE = createOutline();
+
+    /** Outline of a small alien ship, shared by all of them */
+    private static final Shape SMALL_OUTLINE = AffineTransform.getScaleInstance(.75, .75).createTransformedShape(LARGE_OUTLINE);
+
     /** Outline of the ship */
     private Shape outline;
 
@@ -56,33 +65,8 @@ public class Alien extends Participant implements ShipDestroyer, AsteroidDestroy
         // Alien not yet placed on board
         placed = false;
 
-        // Create outline
-        Path2D.Double poly = new Path2D.Double();
-        poly.moveTo(20, 0);
-        poly.lineTo(12, -10);
-        poly.lineTo(-12, -10);
-        poly.lineTo(-20, 0);
-        poly.lineTo(20, 0);
-        poly.lineTo(12, 10);
-        poly.lineTo(-12, 10);
-        poly.lineTo(-20, 0);
-        poly.moveTo(9, 10);
-        poly.lineTo(7, 15);
-        poly.lineTo(-7, 15);
-        poly.lineTo(-9, 10);
-        poly.moveTo(20, 0);
-        poly.closePath();
         // Set outline size based on ship type
-        if (isLarge)
-        {
-            outline = poly;
-        }
-        else
-        {
-            AffineTransform transform = new AffineTransform();
-            transform.scale(.75, .75);
-            outline = transform.createTransformedShape(poly);
-        }
+        outline = isLarge ? LARGE_OUTLINE : SMALL_OUTLINE;
 
         // Set position, rotation, and direction
         setPosition(x, y);
@@ -101,22 +85,45 @@ public class Alien extends Participant implements ShipDestroyer, AsteroidDestroy
         new ParticipantCountdownTimer(this, PLACE_ALIEN, delay);
     }
 
+    /** Creates the outline of a large alien ship */
+    private static Shape createOutline ()
+    {
+        Path2D.Double poly = new Path2D.Double();
+        poly.moveTo(20, 0);
+        poly.lineTo(12, -10);
+        poly.lineTo(-12, -10);
+        poly.lineTo(-20, 0);
+        poly.lineTo(20, 0);
+        poly.lineTo(12, 10);
+        poly.lineTo(-12, 10);
+        poly.lineTo(-20, 0);
+        poly.moveTo(9, 10);
+        poly.lineTo(7, 15);
+        poly.lineTo(-7, 15);
+        poly.lineTo(-9, 10);
+        poly.moveTo(20, 0);
+        poly.closePath();
+        return poly;
+    }
+
     /** Changes ship direction */
     private void newDirection ()
     {
+        SplittableRandom ai = GameRandom.current().ai();
+
         // Switch direction
         direction = !direction;
         if (direction)
-            this.setDirection(DIRECTIONS[RANDOM.nextInt(3)]);
+            this.setDirection(DIRECTIONS[ai.nextInt(3)]);
         else
-            this.setDirection(DIRECTIONS[3 + RANDOM.nextInt(3)]);
+            this.setDirection(DIRECTIONS[3 + ai.nextInt(3)]);
 
         // Determine time until next move based on size
         int delay;
         if (isLarge)
-            delay = ALIEN_TURN_DELAY + RANDOM.nextInt(2 * ALIEN_TURN_DELAY);
+            delay = ALIEN_TURN_DELAY + ai.nextInt(2 * ALIEN_TURN_DELAY);
         else
-            delay = ALIEN_TURN_DELAY / 2 + RANDOM.nextInt(ALIEN_TURN_DELAY);
+            delay = ALIEN_TURN_DELAY / 2 + ai.nextInt(ALIEN_TURN_DELAY);
         // Schedule next move
         new ParticipantCountdownTimer(this, MOVE, delay);
     }
@@ -126,11 +133,12 @@ public class Alien extends Participant implements ShipDestroyer, AsteroidDestroy
     {
         if (controller.getShip() == null) return;
         
+        SplittableRandom ai = GameRandom.current().ai();
         double bulletDir;
         if (isLarge)
         {
             // Randomly generate bullet direction
-            bulletDir = RANDOM.nextDouble() * 2. * Math.PI;
+            bulletDir = ai.nextDouble() * 2. * Math.PI;
 
             // Add bullet
             controller.addParticipant(new AlienBullet(getX(), getY(), BULLET_SPEED, bulletDir));
@@ -141,16 +149,16 @@ public class Alien extends Participant implements ShipDestroyer, AsteroidDestroy
             double xDist = controller.getShip().getX() - getX();
             double yDist = controller.getShip().getY() - getY();
             bulletDir = Math.atan2(yDist, xDist) + 
-                    (RANDOM.nextInt(2 * ALIEN_BULLET_DEFLECTION + 1) - ALIEN_BULLET_DEFLECTION) * (Math.PI / 180.);
+                    (ai.nextInt(2 * ALIEN_BULLET_DEFLECTION + 1) - ALIEN_BULLET_DEFLECTION) * (Math.PI / 180.);
 
             // Add bullet
             controller.addParticipant(new AlienBullet(getX(), getY(), ALIEN_BULLET_SPEED, bulletDir));
         }
         
         // Play sound
-        controller.playSound("fire");
+        controller.playSound(Sound.FIRE);
 
-        new ParticipantCountdownTimer(this, FIRE, 500 + RANDOM.nextInt(1500));
+        new ParticipantCountdownTimer(this, FIRE, 500 + ai.nextInt(1500));
     }
 
     /**
@@ -175,29 +183,36 @@ public class Alien extends Participant implements ShipDestroyer, AsteroidDestroy
         return outline;
     }
 
+    /**
+     * Aliens react to any destroyer except their own bullets
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type)
+    {
+        return (ShipDestroyer.class.isAssignableFrom(type) || AsteroidDestroyer.class.isAssignableFrom(type))
+                && !AlienBullet.class.isAssignableFrom(type);
+    }
+
     /**
      * Destroys the ship if it collides with an asteroid or player ship
      */
     public void collidedWith (Participant p)
     {
-        if ((p instanceof ShipDestroyer || p instanceof AsteroidDestroyer) && !(p instanceof AlienBullet))
-        {
-            // Create debris
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-
-            // Tell the controller
-            controller.alienShipDestroyed(isLarge);
-
-            // Expire the ship
-            Participant.expire(this);
-        }
+        // Create debris
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+
+        // Tell the controller
+        controller.alienShipDestroyed(isLarge);
+
+        // Expire the ship
+        Participant.expire(this);
     }
 
     /**
@@ -15,9 +15,15 @@ public class AlienBullet extends Bullet implements ShipDestroyer
     {
         //Create bullet with superclass constructor
         super(x, y, speed, direction, ALIEN_BULLET_DURATION);
-        
-        //Make sure that superclass doesn't increment bullet count
-        Bullet.bulletCount--;
+    }
+    
+    /**
+     * Alien bullets react to any destroyer except aliens
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type) {
+        return (ShipDestroyer.class.isAssignableFrom(type) || AsteroidDestroyer.class.isAssignableFrom(type))
+                && !Alien.class.isAssignableFrom(type);
     }
     
     /**
@@ -25,8 +31,7 @@ public class AlienBullet extends Bullet implements ShipDestroyer
      */
     @Override
     public void collidedWith (Participant p) {
-        if ((p instanceof ShipDestroyer || p instanceof AsteroidDestroyer) && !(p instanceof Alien))
-            Participant.expire(this);
+        Participant.expire(this);
     }
 
 }
@@ -3,10 +3,13 @@ package asteroids.participants;
 import static asteroids.game.Constants.*;
 import java.awt.Shape;
 import java.awt.geom.*;
+import java.util.SplittableRandom;
 import asteroids.destroyers.AsteroidDestroyer;
 import asteroids.destroyers.ShipDestroyer;
 import asteroids.game.Controller;
+import asteroids.game.GameRandom;
 import asteroids.game.Participant;
+import asteroids.game.ParticipantPool;
 
 /**
  * Represents asteroids
@@ -16,6 +19,23 @@ public class Asteroid extends Participant implements ShipDestroyer
     /** The size of the asteroid (0 = small, 1 = medium, 2 = large) */
     private int size;
 
+    /** The outlines of the asteroids, indexed by variety and then size. Asteroids share them. */
+    private static final Shape[][] OUTLINES = new Shape[4][ASTEROID_SCALE.length];
+
+    static
+    {
+        for (int variety = 0; variety < OUTLINES.length; variety++)
+        {
+            for (int size = 0; size < ASTEROID_SCALE.length; size++)
+            {
+                OUTLINES[variety][size] = createAsteroidOutline(variety, size);
+            }
+        }
+    }
+
+    /** Asteroids kept for reuse, one pool per thread */
+    private static final ThreadLocal<ParticipantPool<Asteroid>> POOL = ThreadLocal.withInitial( () -> new ParticipantPool<Asteroid>(ASTEROID_POOL_SIZE));
+
     /** The outline of the asteroid */
     private Shape outline;
 
@@ -30,6 +50,36 @@ public class Asteroid extends Participant implements ShipDestroyer
      * random direction.
      */
     public Asteroid (int variety, int size, double x, double y, int speed, Controller controller)
+    {
+        launch(variety, size, x, y, speed, controller);
+    }
+
+    /**
+     * Returns an Asteroid like the one the constructor would create, reusing one from the pool if possible.
+     */
+    public static Asteroid create (int variety, int size, double x, double y, int speed, Controller controller)
+    {
+        Asteroid a = POOL.get().obtain();
+        if (a == null)
+        {
+            return new Asteroid(variety, size, x, y, speed, controller);
+        }
+        a.launch(variety, size, x, y, speed, controller);
+        return a;
+    }
+
+    /**
+     * Returns the pool of asteroids for this thread
+     */
+    public static ParticipantPool<Asteroid> getPool ()
+    {
+        return POOL.get();
+    }
+
+    /**
+     * Sets up the asteroid as described for the constructor
+     */
+    private void launch (int variety, int size, double x, double y, int speed, Controller controller)
     {
         // Make sure size and variety are valid
         if (size < 0 || size > 2)
@@ -45,9 +95,10 @@ public class Asteroid extends Participant implements ShipDestroyer
         this.controller = controller;
         this.size = size;
         setPosition(x, y);
-        setVelocity(speed, RANDOM.nextDouble() * 2 * Math.PI);
-        setRotation(2 * Math.PI * RANDOM.nextDouble());
-        createAsteroidOutline(variety, size);
+        SplittableRandom spawn = GameRandom.current().spawn();
+        setVelocity(speed, spawn.nextDouble() * 2 * Math.PI);
+        setRotation(2 * Math.PI * spawn.nextDouble());
+        outline = OUTLINES[variety][size];
     }
 
     @Override
@@ -57,9 +108,9 @@ public class Asteroid extends Participant implements ShipDestroyer
     }
 
     /**
-     * Creates the outline of the asteroid based on its variety and size.
+     * Creates the outline of an asteroid based on its variety and size.
      */
-    private void createAsteroidOutline (int variety, int size)
+    private static Shape createAsteroidOutline (int variety, int size)
     {
         // This will contain the outline
         Path2D.Double poly = new Path2D.Double();
@@ -124,8 +175,7 @@ public class Asteroid extends Participant implements ShipDestroyer
         double scale = ASTEROID_SCALE[size];
         poly.transform(AffineTransform.getScaleInstance(scale, scale));
 
-        // Save the outline
-        outline = poly;
+        return poly;
     }
 
     /**
@@ -136,40 +186,56 @@ public class Asteroid extends Participant implements ShipDestroyer
         return size;
     }
 
+    /**
+     * Asteroids react only to AsteroidDestroyers
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type)
+    {
+        return AsteroidDestroyer.class.isAssignableFrom(type);
+    }
+
     /**
      * When an Asteroid collides with an AsteroidDestroyer, it expires.
      */
     @Override
     public void collidedWith (Participant p)
     {
-        if (p instanceof AsteroidDestroyer)
-        {
-            //Update score
-            controller.updateScore(this.getSize());
-            
-            //Record current position
-            double x = this.getX();
-            double y = this.getY();
-            
-            //Create 5-8 debris
-            for (int i = 0; i <= 5 + RANDOM.nextInt(4); ++i)
-                controller.addParticipant(new Debris(x, y, false));
-            
-            //Create new asteroids
-            if (size == 0);
-            else if (size == 1) {
-                controller.addParticipant(new Asteroid(RANDOM.nextInt(4), 0, x, y, 1 + RANDOM.nextInt(MAXIMUM_SMALL_ASTEROID_SPEED), controller));
-                controller.addParticipant(new Asteroid(RANDOM.nextInt(4), 0, x, y, 1 + RANDOM.nextInt(MAXIMUM_SMALL_ASTEROID_SPEED), controller));
-            } else {
-                controller.addParticipant(new Asteroid(RANDOM.nextInt(4), 1, x, y, 1 + RANDOM.nextInt(MAXIMUM_MEDIUM_ASTEROID_SPEED), controller));
-                controller.addParticipant(new Asteroid(RANDOM.nextInt(4), 1, x, y, 1 + RANDOM.nextInt(MAXIMUM_MEDIUM_ASTEROID_SPEED), controller));
-            }
-            
-            // Expire the asteroid
-            Participant.expire(this);
-            
-            // Inform the controller
-            controller.asteroidDestroyed(size);
+        //Update score
+        controller.updateScore(this.getSize());
+        
+        //Record current position
+        double x = this.getX();
+        double y = this.getY();
+        
+        //Create 5-8 debris
+        SplittableRandom spawn = GameRandom.current().spawn();
+        for (int i = 0; i <= 5 + spawn.nextInt(4); ++i)
+            controller.addParticipant(Debris.create(x, y, false));
+        
+        //Create new asteroids
+        if (size == 0);
+        else if (size == 1) {
+            controller.addParticipant(Asteroid.create(spawn.nextInt(4), 0, x, y, 1 + spawn.nextInt(MAXIMUM_SMALL_ASTEROID_SPEED), controller));
+            controller.addParticipant(Asteroid.create(spawn.nextInt(4), 0, x, y, 1 + spawn.nextInt(MAXIMUM_SMALL_ASTEROID_SPEED), controller));
+        } else {
+            controller.addParticipant(Asteroid.create(spawn.nextInt(4), 1, x, y, 1 + spawn.nextInt(MAXIMUM_MEDIUM_ASTEROID_SPEED), controller));
+            controller.addParticipant(Asteroid.create(spawn.nextInt(4), 1, x, y, 1 + spawn.nextInt(MAXIMUM_MEDIUM_ASTEROID_SPEED), controller));
         }
+        
+        // Expire the asteroid
+        Participant.expire(this);
+        
+        // Inform the controller
+        controller.asteroidDestroyed(size);
+    }
+
+    /**
+     * Returns the asteroid to the pool
+     */
+    @Override
+    protected void removed ()
+    {
+        POOL.get().recycle(this);
     }
 }
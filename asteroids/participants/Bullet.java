@@ -7,53 +7,82 @@ import java.awt.geom.*;
 import asteroids.destroyers.*;
 import asteroids.game.Participant;
 import asteroids.game.ParticipantCountdownTimer;
+import asteroids.game.ParticipantPool;
 
 public class Bullet extends Participant implements AsteroidDestroyer
 {
+    /** The outline shared by all bullets, centered on the origin */
+    private static final Shape OUTLINE = new Ellipse2D.Double(-1., -1., 2., 2.);
     
-    public static int bulletCount = 0;
+    /** Bullets kept for reuse, one pool per thread */
+    private static final ThreadLocal<ParticipantPool<Bullet>> POOL = ThreadLocal.withInitial( () -> new ParticipantPool<Bullet>(BULLET_POOL_SIZE));
     
-    /** The outline of the bullet*/
-    private Shape outline;
+    /** Counts down the life of the bullet */
+    private ParticipantCountdownTimer lifetime;
     
     /**
      * Creates a new Bullet
      */
     public Bullet (double x, double y, double speed, double direction)
     {
-        outline = new Ellipse2D.Double(x, y, 2., 2.);
-        this.setSpeed(speed);
-        this.setDirection(direction);
-        bulletCount++;
-        new ParticipantCountdownTimer(this, BULLET_DURATION);
+        this(x, y, speed, direction, BULLET_DURATION);
     }
     
     /**
      * Create a new bullet with custom duration
      */
     public Bullet(double x, double y, double speed, double direction, int duration) {
-        outline = new Ellipse2D.Double(x, y, 2., 2.);
+        launch(x, y, speed, direction, duration);
+    }
+    
+    /**
+     * Returns a Bullet like the one the constructor would create, reusing one from the pool if possible
+     */
+    public static Bullet create (double x, double y, double speed, double direction) {
+        Bullet b = POOL.get().obtain();
+        if (b == null) return new Bullet(x, y, speed, direction);
+        b.launch(x, y, speed, direction, BULLET_DURATION);
+        return b;
+    }
+    
+    /**
+     * Returns the pool of bullets for this thread
+     */
+    public static ParticipantPool<Bullet> getPool () {
+        return POOL.get();
+    }
+    
+    /**
+     * Sets up the bullet with its upper left corner at x, y and starts its countdown
+     */
+    private void launch (double x, double y, double speed, double direction, int duration) {
+        setPosition(x + 1, y + 1);
         this.setSpeed(speed);
         this.setDirection(direction);
-        bulletCount++;
-        new ParticipantCountdownTimer(this, duration);
+        if (lifetime == null) lifetime = new ParticipantCountdownTimer(this, duration);
+        else lifetime.restart(duration);
     }
     
     /**
      * Returns the outline for the bullet
      */
     protected Shape getOutline () {
-        return outline;
+        return OUTLINE;
+    }
+    
+    /**
+     * Bullets react only to ShipDestroyers
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type) {
+        return ShipDestroyer.class.isAssignableFrom(type);
     }
     
     /**
      * Destroys the bullet if it collides with an asteroid
      */
     public void collidedWith (Participant p) {
-        if (p instanceof ShipDestroyer) {
-            --bulletCount;
-            Participant.expire(this);
-        }
+        Participant.expire(this);
     }
     
     /**
@@ -61,7 +90,14 @@ public class Bullet extends Participant implements AsteroidDestroyer
      */
     @Override
     public void countdownComplete (Object payload) {
-        --bulletCount;
         Participant.expire(this);
     }
+    
+    /**
+     * Returns the bullet to the pool (alien bullets aren't pooled)
+     */
+    @Override
+    protected void removed () {
+        if (getClass() == Bullet.class) POOL.get().recycle(this);
+    }
 }
@@ -4,39 +4,90 @@ import static asteroids.game.Constants.*;
 import java.awt.Shape;
 import java.awt.geom.*;
 import java.awt.geom.Path2D.Double;
+import java.util.SplittableRandom;
+import asteroids.game.GameRandom;
 import asteroids.game.Participant;
 import asteroids.game.ParticipantCountdownTimer;
+import asteroids.game.ParticipantPool;
 
 public class Debris extends Participant
 {
     
+    /** Outlines of ship debris, one for each length from 10 to 19 */
+    private static final Shape[] SHIP_OUTLINES = new Shape[10];
+    
+    /** Outline of asteroid debris, centered on the origin */
+    private static final Shape ASTEROID_OUTLINE = new Ellipse2D.Double(-.5, -.5, 1., 1.);
+    
+    static {
+        for (int i = 0; i < SHIP_OUTLINES.length; i++) {
+            Path2D.Double line = new Path2D.Double();
+            line.moveTo(0, 0);
+            line.lineTo(0, 10 + i);
+            SHIP_OUTLINES[i] = line;
+        }
+    }
+    
+    /** Debris kept for reuse, one pool per thread */
+    private static final ThreadLocal<ParticipantPool<Debris>> POOL = ThreadLocal.withInitial( () -> new ParticipantPool<Debris>(DEBRIS_POOL_SIZE));
+    
     /** Outline of this debris */
     private Shape outline;
     
+    /** Counts down the life of the debris */
+    private ParticipantCountdownTimer lifetime;
+    
     /**
      * Creates a new Debris object at x, y with random direction & rotation
      * @param type: true for ship debris, false for asteroid debris
      */
     public Debris (double x, double y, boolean type)
     {
-        //Create outline & set position based on object type
+        scatter(x, y, type);
+    }
+    
+    /**
+     * Returns a Debris object like the one the constructor would create, reusing one from the pool if possible
+     * @param type: true for ship debris, false for asteroid debris
+     */
+    public static Debris create (double x, double y, boolean type) {
+        Debris d = POOL.get().obtain();
+        if (d == null) return new Debris(x, y, type);
+        d.scatter(x, y, type);
+        return d;
+    }
+    
+    /**
+     * Returns the pool of debris for this thread
+     */
+    public static ParticipantPool<Debris> getPool () {
+        return POOL.get();
+    }
+    
+    /**
+     * Sets up the debris at x, y with random direction & rotation and starts its countdown
+     */
+    private void scatter (double x, double y, boolean type) {
+        SplittableRandom random = GameRandom.current().debris();
+
+        //Choose outline & set position based on object type
         if (type) {
-            Path2D.Double line = new Path2D.Double();
-            line.moveTo(0, 0);
-            line.lineTo(0, 10 + RANDOM.nextInt(10));
-            outline = line;
+            outline = SHIP_OUTLINES[random.nextInt(10)];
             setPosition(x, y);
-            setRotation(2. * Math.PI * RANDOM.nextDouble());
+            setRotation(2. * Math.PI * random.nextDouble());
         } else {
-            outline = new Ellipse2D.Double(x, y, 1., 1.);
+            outline = ASTEROID_OUTLINE;
+            setPosition(x + .5, y + .5);
         }
         
         //Set direction and speed randomly
-        setSpeed(3 * RANDOM.nextDouble());
-        setDirection(2. * Math.PI * RANDOM.nextDouble());
+        setSpeed(3 * random.nextDouble());
+        setDirection(2. * Math.PI * random.nextDouble());
         
         //Debris lasts 1-3s
-        new ParticipantCountdownTimer(this, 1000 + RANDOM.nextInt(2000));
+        int duration = 1000 + random.nextInt(2000);
+        if (lifetime == null) lifetime = new ParticipantCountdownTimer(this, duration);
+        else lifetime.restart(duration);
     }
     
     /**
@@ -46,6 +97,14 @@ public class Debris extends Participant
         return outline;
     }
     
+    /**
+     * Debris doesn't react to anything
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type) {
+        return false;
+    }
+    
     /**
      * Unnecessary inherited abstract method
      */
@@ -60,5 +119,13 @@ public class Debris extends Participant
     public void countdownComplete (Object payload) {
         Participant.expire(this);
     }
+    
+    /**
+     * Returns the debris to the pool
+     */
+    @Override
+    protected void removed () {
+        POOL.get().recycle(this);
+    }
 
 }
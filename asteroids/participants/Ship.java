@@ -1,12 +1,11 @@
 package asteroids.participants;
 
 import static asteroids.game.Constants.*;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.*;
 import asteroids.destroyers.*;
 import asteroids.game.Controller;
+import asteroids.game.GameRandom;
 import asteroids.game.Participant;
 import asteroids.game.ParticipantCountdownTimer;
 import asteroids.game.ParticipantState;
@@ -16,11 +15,11 @@ import asteroids.game.ParticipantState;
  */
 public class Ship extends Participant implements AsteroidDestroyer
 {
-    /** The outline of the ship */
-    private Shape outline;
+    /** The outline of the ship, shared by all ships */
+    private static final Shape OUTLINE = createOutline();
     
-    /** Flame coming from the ship */
-    private Shape flame;
+    /** Flame coming from the ship, shared by all ships */
+    private static final Shape FLAME = createFlame();
     
     /** Whether the ship is accelerating */
     private boolean flameOn;
@@ -38,7 +37,21 @@ public class Ship extends Participant implements AsteroidDestroyer
         setRotation(direction);
         
         flameOn = false;
+    }
 
+    /**
+     * Returns a copy of the outline of a ship pointing to the right, which the caller may change freely
+     */
+    public static Shape getOutlineCopy ()
+    {
+        return new Path2D.Double(OUTLINE);
+    }
+
+    /**
+     * Creates the outline of a ship pointing to the right
+     */
+    private static Shape createOutline ()
+    {
         Path2D.Double poly = new Path2D.Double();
         poly.moveTo(21, 0);
         poly.lineTo(-21, 12);
@@ -46,14 +59,20 @@ public class Ship extends Participant implements AsteroidDestroyer
         poly.lineTo(-14, -10);
         poly.lineTo(-21, -12);
         poly.closePath();
-        outline = poly;
-        
+        return poly;
+    }
+
+    /**
+     * Creates the flame that comes out of the back of a ship pointing to the right
+     */
+    private static Shape createFlame ()
+    {
         Path2D.Double tri = new Path2D.Double();
         tri.moveTo(-14, 8);
         tri.lineTo(-14, -8);
         tri.lineTo(-30, 0);
         tri.closePath();
-        flame = tri;
+        return tri;
     }
 
     /**
@@ -79,42 +98,41 @@ public class Ship extends Participant implements AsteroidDestroyer
     @Override
     protected Shape getOutline ()
     {
-        return outline;
+        return OUTLINE;
     }
 
     /**
-     * Customizes the base move method by imposing friction
+     * Imposes friction before each move
      */
     @Override
-    public void move ()
+    protected void beforeMove ()
     {
-        applyFriction(SHIP_FRICTION);
-        super.move();
+        applyFriction(SHIP_FRICTION * getTimeScale());
     }
 
     /**
-     * Turns right by Pi/16 radians
+     * Turns right by Pi/16 radians per FRAME_INTERVAL
      */
     public void turnRight ()
     {
-        rotate(Math.PI / 16);
+        rotate(Math.PI / 16 * getTimeScale());
     }
 
     /**
-     * Turns left by Pi/16 radians
+     * Turns left by Pi/16 radians per FRAME_INTERVAL
      */
     public void turnLeft ()
     {
-        rotate(-Math.PI / 16);
+        rotate(-Math.PI / 16 * getTimeScale());
     }
 
     /**
-     * Accelerates by SHIP_ACCELERATION and turns flame on
+     * Accelerates by SHIP_ACCELERATION per FRAME_INTERVAL and turns flame on
      */
     public void accelerate ()
     {
         flameOn = true;
-        accelerate(SHIP_ACCELERATION);
+        accelerate(SHIP_ACCELERATION * getTimeScale());
     }
     
     /**
@@ -125,42 +143,44 @@ public class Ship extends Participant implements AsteroidDestroyer
     }
     
     /**
-     * Draws the ship and its flame if necessary
+     * Returns the flame while the ship is accelerating, flickering on and off. The flicker comes from the cosmetic
+     * stream of the game's randomness, so that drawing doesn't change how the game plays out.
      */
     @Override
-    public void draw (Graphics2D g)
+    protected Shape getEffectOutline ()
     {
-        super.draw(g);
-        if (flameOn && RANDOM.nextBoolean()) {
-            AffineTransform trans = AffineTransform.getTranslateInstance(getX(), getY());
-            trans.concatenate(AffineTransform.getRotateInstance(getRotation()));
-            g.draw(trans.createTransformedShape(flame));
-        }
+        return (flameOn && GameRandom.current().cosmetic().nextBoolean()) ? FLAME : null;
     }
     
+    /**
+     * Ships react only to ShipDestroyers
+     */
+    @Override
+    protected boolean reactsTo (Class<? extends Participant> type)
+    {
+        return ShipDestroyer.class.isAssignableFrom(type);
+    }
+
     /**
      * When a Ship collides with a ShipDestroyer, it expires
      */
     @Override
     public void collidedWith (Participant p)
     {
-        if (p instanceof ShipDestroyer)
-        {
-            //Create debris
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), true));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            controller.addParticipant(new Debris(getX(), getY(), false));
-            
-            // Expire the ship from the game
-            Participant.expire(this);
-
-            // Tell the controller the ship was destroyed
-            controller.shipDestroyed();
-        }
+        //Create debris
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), true));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        controller.addParticipant(Debris.create(getX(), getY(), false));
+        
+        // Expire the ship from the game
+        Participant.expire(this);
+
+        // Tell the controller the ship was destroyed
+        controller.shipDestroyed();
     }
 
     /**
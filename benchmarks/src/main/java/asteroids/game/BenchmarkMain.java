@@ -0,0 +1,32 @@
+package asteroids.game;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with JMH's usual command line options. Unless other profilers are asked for, the gc profiler is
+ * used so that allocation rates are reported.
+ */
+public class BenchmarkMain
+{
+    public static void main (String[] args) throws Exception
+    {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp())
+        {
+            cli.showHelp();
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        if (cli.getProfilers().isEmpty())
+        {
+            options.addProfiler(GCProfiler.class);
+        }
+        Options built = options.build();
+        new Runner(built).run();
+    }
+}
@@ -0,0 +1,62 @@
+package asteroids.game;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures ParticipantState.checkForCollisions, and a whole moveParticipants, on a fresh population. Collisions
+ * destroy participants, so the population is rebuilt before every operation. The rebuilding isn't timed, but the gc
+ * profiler's allocation rate includes it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark
+{
+    /** The population */
+    @Param
+    public Scenario scenario;
+
+    /** The number of participants */
+    @Param({ "50", "200", "800" })
+    public int count;
+
+    /** The state holding the population */
+    private ParticipantState state;
+
+    @Setup(Level.Invocation)
+    public void setUp ()
+    {
+        // The controller receives the debris and fragments of anything destroyed, so it is replaced too
+        Controller controller = new Controller(new HeadlessView(), new SimulationClock());
+        state = new ParticipantState();
+        for (Participant p : scenario.create(controller, count, 1))
+        {
+            state.addParticipant(p);
+        }
+        state.completeAddsAndRemoves();
+    }
+
+    /**
+     * Finds and handles the collisions among the population
+     */
+    @Benchmark
+    public ParticipantState checkForCollisions ()
+    {
+        state.checkForCollisions();
+        return state;
+    }
+
+    /**
+     * Moves the population by one tick, including the countdowns, collisions, adds, and removes
+     */
+    @Benchmark
+    public ParticipantState moveParticipants ()
+    {
+        state.moveParticipants();
+        return state;
+    }
+}
@@ -0,0 +1,104 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures drawing a population into an offscreen BufferedImage: Screen.paintComponent as Swing calls it, and taking and
+ * drawing a FrameSnapshot as the render thread does, with outlines drawn as shapes and copied from a SpriteCache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark
+{
+    /** The population */
+    @Param
+    public Scenario scenario;
+
+    /** The number of participants */
+    @Param({ "50", "200", "800" })
+    public int count;
+
+    /** The screen being painted */
+    private Screen screen;
+
+    /** The image the screen is painted into */
+    private BufferedImage image;
+
+    /** Graphics for the image */
+    private Graphics2D graphics;
+
+    /** The controller that holds the population */
+    private Controller controller;
+
+    /** The snapshot that is taken and drawn */
+    private FrameSnapshot frame;
+
+    /** The sprites the snapshot is drawn from */
+    private SpriteCache sprites;
+
+    /** The HUD drawn with the snapshot */
+    private Hud hud;
+
+    @Setup
+    public void setUp ()
+    {
+        controller = new Controller(new HeadlessView(), new SimulationClock());
+        for (Participant p : scenario.create(controller, count, 1))
+        {
+            controller.addParticipant(p);
+        }
+        screen = new Screen(controller, RenderMode.SWING);
+        frame = new FrameSnapshot();
+        sprites = new SpriteCache();
+        hud = new Hud();
+        screen.setSize(SIZE, SIZE);
+        image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown ()
+    {
+        graphics.dispose();
+    }
+
+    /**
+     * Paints one frame
+     */
+    @Benchmark
+    public BufferedImage paint ()
+    {
+        screen.paintComponent(graphics);
+        return image;
+    }
+
+    /**
+     * Takes a snapshot and draws it
+     */
+    @Benchmark
+    public BufferedImage snapshot ()
+    {
+        frame.capture(controller, "");
+        Screen.drawFrame(graphics, frame, hud, null);
+        return image;
+    }
+
+    /**
+     * Takes a snapshot and draws it from sprites
+     */
+    @Benchmark
+    public BufferedImage sprites ()
+    {
+        frame.capture(controller, "");
+        Screen.drawFrame(graphics, frame, hud, sprites);
+        return image;
+    }
+}
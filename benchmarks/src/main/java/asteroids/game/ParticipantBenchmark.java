@@ -0,0 +1,83 @@
+package asteroids.game;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures moving a whole population the way ParticipantState.moveParticipants does, and Participant.overlaps over it.
+ * Each operation moves every participant once (beforeMove for each, one ParticipantStore.integrate pass over the
+ * arrays, then place for each), or tests every pair of participants once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParticipantBenchmark
+{
+    /** The population */
+    @Param
+    public Scenario scenario;
+
+    /** The number of participants */
+    @Param({ "50", "200", "800" })
+    public int count;
+
+    /** The participants, already placed */
+    private Participant[] participants;
+
+    /** The store that holds the participants */
+    private ParticipantStore store;
+
+    @Setup
+    public void setUp ()
+    {
+        Controller controller = new Controller(new HeadlessView(), new SimulationClock());
+        participants = scenario.create(controller, count, 1);
+        store = new ParticipantStore();
+        for (Participant p : participants)
+        {
+            store.add(p);
+        }
+    }
+
+    /**
+     * Moves every participant by one tick
+     */
+    @Benchmark
+    public ParticipantStore move ()
+    {
+        int size = store.size();
+        for (int i = 0; i < size; i++)
+        {
+            store.get(i).beforeMove();
+        }
+        store.integrate(1);
+        for (int i = 0; i < size; i++)
+        {
+            store.get(i).place();
+        }
+        return store;
+    }
+
+    /**
+     * Tests every pair of participants for overlap and returns the number that overlap
+     */
+    @Benchmark
+    public int overlaps ()
+    {
+        int overlapping = 0;
+        for (int i = 0; i < participants.length; i++)
+        {
+            for (int j = i + 1; j < participants.length; j++)
+            {
+                if (participants[i].overlaps(participants[j]))
+                {
+                    overlapping++;
+                }
+            }
+        }
+        return overlapping;
+    }
+}
@@ -0,0 +1,80 @@
+package asteroids.game;
+
+import static asteroids.game.Constants.*;
+import java.util.Random;
+import asteroids.participants.*;
+
+/**
+ * The populations of participants that the benchmarks run on. Each is laid out from a seed, which also seeds the
+ * GameRandom that the participants take their motions from, so a benchmark sees the same arrangement every time it is
+ * set up.
+ */
+public enum Scenario
+{
+    /** Asteroids of every size and variety, spread over the screen */
+    ASTEROIDS,
+
+    /** A ship at the center of the screen with volleys of bullets heading out from it into a few asteroids */
+    VOLLEY,
+
+    /** Clouds of ship and asteroid debris around the sites of explosions, among a few asteroids */
+    DEBRIS;
+
+    /**
+     * Creates count participants for the scenario, laid out according to the seed, and places each of them so that
+     * their borders are in place. A GameRandom made from the seed is installed on this thread first, replacing the
+     * controller's, so that the velocities and spins the participants draw are the same each time. Nothing is added to
+     * the controller, which the asteroids and ship report to.
+     */
+    public Participant[] create (Controller controller, int count, long seed)
+    {
+        GameRandom.install(new GameRandom(seed));
+        Random random = new Random(seed);
+        Participant[] participants = new Participant[count];
+        int i = 0;
+
+        // All but the first scenario are mostly something else, with a tenth as many asteroids
+        int asteroids = (this == ASTEROIDS) ? count : Math.max(1, count / 10);
+        while (i < asteroids)
+        {
+            participants[i++] = new Asteroid(random.nextInt(4), random.nextInt(ASTEROID_SCALE.length),
+                    random.nextInt(SIZE), random.nextInt(SIZE), 1 + random.nextInt(MAXIMUM_LARGE_ASTEROID_SPEED), controller);
+        }
+
+        if (this == VOLLEY && i < count)
+        {
+            Ship ship = new Ship(SIZE / 2, SIZE / 2, -Math.PI / 2, controller);
+            participants[i++] = ship;
+            while (i < count)
+            {
+                double direction = 2 * Math.PI * random.nextInt(16) / 16;
+                double distance = 20 + random.nextDouble() * (SIZE / 2 - 20);
+                participants[i++] = new Bullet(SIZE / 2 + distance * Math.cos(direction),
+                        SIZE / 2 + distance * Math.sin(direction), BULLET_SPEED, direction);
+            }
+        }
+        else if (this == DEBRIS)
+        {
+            int sites = Math.max(1, (count - i) / 40);
+            double[] siteX = new double[sites];
+            double[] siteY = new double[sites];
+            for (int s = 0; s < sites; s++)
+            {
+                siteX[s] = random.nextInt(SIZE);
+                siteY[s] = random.nextInt(SIZE);
+            }
+            while (i < count)
+            {
+                int s = random.nextInt(sites);
+                participants[i++] = new Debris(siteX[s] + 20 * random.nextGaussian(), siteY[s] + 20 * random.nextGaussian(),
+                        random.nextBoolean());
+            }
+        }
+
+        for (Participant p : participants)
+        {
+            p.place();
+        }
+        return participants;
+    }
+}